@@ -0,0 +1,59 @@
+package com.gameshelf.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialization of game lists as returned by the game API, with an object mapper
+ * configured the way Spring Boot configures the application's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameSerializationBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Game> games;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        games = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Game game = new Game();
+            game.setId((long) i);
+            game.setTitle("Game " + i);
+            game.setGenre(i % 2 == 0 ? "RPG" : "Strategy");
+            game.setPlatform(i % 3 == 0 ? "PC" : "Switch");
+            game.setRating(7.5);
+            game.setReleaseDate(LocalDate.of(2000 + i % 25, 1 + i % 12, 1 + i % 28));
+            game.setNotes("Notes for game " + i);
+            game.setVersion(0L);
+            game.setUpdatedAt(Instant.parse("2026-01-01T00:00:00Z"));
+            games.add(game);
+        }
+    }
+
+    @Benchmark
+    public byte[] writeGames() throws Exception {
+        return objectMapper.writeValueAsBytes(games);
+    }
+}
@@ -0,0 +1,50 @@
+package com.gameshelf.security;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Token issuing and checking as done on login and on every authenticated request.
+ * {@code validateToken} and {@code extractRoles} take the verified-token cache path
+ * that repeated requests take.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtKeyRing keyRing = new JwtKeyRing(new JwtKeyProperties(), "");
+        jwtUtil = new JwtUtil(3_600_000, keyRing, new TokenRevocationStore(1000), new SimpleMeterRegistry(), 10_000);
+        token = jwtUtil.generateToken("testuser", List.of("ROLE_USER"));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("testuser", List.of("ROLE_USER"));
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, "testuser");
+    }
+
+    @Benchmark
+    public List<String> extractRoles() {
+        return jwtUtil.extractRoles(token);
+    }
+}
@@ -0,0 +1,46 @@
+package com.gameshelf.service;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.gameshelf.repository.UserRepository;
+
+/**
+ * Registration input validation, run for every registration and provisioned user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthServiceBenchmark {
+
+    private AuthService authService;
+
+    @Setup
+    public void setUp() {
+        authService = new AuthService(mock(UserRepository.class), mock(PasswordEncoder.class));
+    }
+
+    @Benchmark
+    public boolean validatePassword() {
+        return authService.validatePassword("Testpassword123!");
+    }
+
+    @Benchmark
+    public boolean validateEmail() {
+        return authService.validateEmail("collector@example.com");
+    }
+
+    @Benchmark
+    public boolean validateUsername() {
+        return authService.validateUsername("collector_42");
+    }
+}
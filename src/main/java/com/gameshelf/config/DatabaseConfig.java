@@ -1,21 +1,34 @@
 package com.gameshelf.config;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.sql.DataSource;
 
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.orm.jpa.JpaVendorAdapter;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 
+import com.gameshelf.monitoring.QueryCounter;
+
 @Configuration
 public class DatabaseConfig {
 
     @Bean
-    public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource,
+            JpaProperties jpaProperties, QueryCounter queryCounter) {
         LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
         em.setDataSource(dataSource);
         em.setPackagesToScan("com.gameshelf.model");
+        // This bean replaces Boot's auto-configured factory, so spring.jpa.properties.* must be passed on explicitly
+        Map<String, Object> properties = new HashMap<>(jpaProperties.getProperties());
+        // Counts the statements of each request for the query budgets
+        properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCounter);
+        em.setJpaPropertyMap(properties);
 
         JpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
         em.setJpaVendorAdapter(vendorAdapter);
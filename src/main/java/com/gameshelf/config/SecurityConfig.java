@@ -1,11 +1,14 @@
 package com.gameshelf.config;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,6 +17,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -23,11 +27,19 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.gameshelf.security.BCryptCostCalibrator;
 import com.gameshelf.security.CustomUserDetailsService;
 import com.gameshelf.security.JwtAuthFilter;
+import com.gameshelf.security.JwtKeyProperties;
+import com.gameshelf.security.TimedPasswordEncoder;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(JwtKeyProperties.class)
 public class SecurityConfig {
 
     private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
@@ -41,19 +53,37 @@ public class SecurityConfig {
         this.allowedOrigins = allowedOrigins;
     }
 
+    /**
+     * Password encoder hashing new passwords with BCrypt at a cost calibrated to this host,
+     * unless a fixed cost is configured. Stored hashes carry their algorithm as a prefix;
+     * unprefixed hashes from before are BCrypt. Hashes with another algorithm or a lower
+     * cost are rehashed on the next successful login through {@link CustomUserDetailsService}.
+     * Hashing and checking are timed, and the cost in use is published as a gauge.
+     *
+     * @param cost fixed BCrypt cost, or 0 to calibrate
+     * @param targetDuration the time one password check should take when calibrating
+     * @param minCost the lowest calibrated cost
+     * @param maxCost the highest calibrated cost
+     * @param meterRegistry the registry for the hashing meters
+     * @return the password encoder
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(10);
-        
-        // Test the encoder
-        String testPassword = "Testpassword123";
-        String encoded = encoder.encode(testPassword);
-        log.debug("Test password encoding:");
-        log.debug("Original: {}", testPassword);
-        log.debug("Encoded: {}", encoded);
-        log.debug("Matches: {}", encoder.matches(testPassword, encoded));
-        
-        return encoder;
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.password-hashing.bcrypt.cost:0}") int cost,
+            @Value("${app.security.password-hashing.bcrypt.target-duration:100ms}") Duration targetDuration,
+            @Value("${app.security.password-hashing.bcrypt.min-cost:10}") int minCost,
+            @Value("${app.security.password-hashing.bcrypt.max-cost:14}") int maxCost,
+            MeterRegistry meterRegistry) {
+        int strength = cost > 0 ? cost : BCryptCostCalibrator.calibrate(targetDuration, minCost, maxCost);
+        log.info("Hashing passwords with BCrypt cost {}{}", strength, cost > 0 ? "" : " (calibrated to " + targetDuration + ")");
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        Gauge.builder("password.encoder.bcrypt.cost", () -> strength)
+            .description("BCrypt cost of newly hashed passwords")
+            .register(meterRegistry);
+        return new TimedPasswordEncoder(encoder, meterRegistry);
     }
 
     @Bean
@@ -73,11 +103,18 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf
                     .ignoringRequestMatchers("/api/auth/**", "/h2-console/**") // Add H2 console to ignored paths
                     .csrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse())
+                    .csrfTokenRequestHandler(requestHandler)
                 )
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
+                        // Async (streamed responses) and error dispatches belong to a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/h2-console/**").permitAll() // Allow H2 Console access
-                        .requestMatchers("/api/auth/login", "/api/auth/register").permitAll()
+                        .requestMatchers("/api/auth/login", "/api/auth/register", "/api/auth/refresh").permitAll()
+                        .requestMatchers("/actuator/health", "/.well-known/jwks.json").permitAll()
+                        // Metrics show traffic per URI, login failures and cache sizes; scrapers use an admin token
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .requestMatchers("/api/**").authenticated()
                         .anyRequest().authenticated()
                 )
@@ -97,7 +134,7 @@ public class SecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(allowedOrigins); // Add your frontend URL
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
         configuration.setAllowCredentials(true);
 
@@ -0,0 +1,57 @@
+package com.gameshelf.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.gameshelf.dto.BatchItemResult;
+import com.gameshelf.security.AuthenticatedUser;
+import com.gameshelf.service.UserProvisioningService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Administrative operations; every endpoint requires {@code ROLE_ADMIN}.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminController.class);
+
+    private final UserProvisioningService userProvisioningService;
+
+    /**
+     * Creates many user accounts in one request. The body is a JSON array of
+     * {@code {username, email, password}} objects, read as a stream; the response
+     * reports the outcome of every entry, including invalid input and taken names.
+     *
+     * @param body the request body
+     * @param user the authenticated administrator
+     * @return ResponseEntity containing one result per entry, in request order
+     * @throws IOException if the request body cannot be read
+     * @throws ResponseStatusException if user is not authenticated
+     */
+    @PostMapping(value = "/users/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchItemResult>> provisionUsers(InputStream body,
+            @AuthenticationPrincipal AuthenticatedUser user) throws IOException {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+        }
+
+        log.info("User provisioning started by admin: {}", user.username());
+        return ResponseEntity.ok(userProvisioningService.provision(body));
+    }
+}
@@ -1,24 +1,43 @@
 package com.gameshelf.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.gameshelf.dto.AuthRequest;
 import com.gameshelf.dto.LoginRequest;
+import com.gameshelf.dto.RefreshTokenRequest;
 import com.gameshelf.dto.TokenResponse;
+import com.gameshelf.dto.TokenRevocationRequest;
+import com.gameshelf.exception.HashingCapacityExceededException;
+import com.gameshelf.exception.TooManyLoginAttemptsException;
+import com.gameshelf.model.User;
+import com.gameshelf.security.AuthenticatedUser;
 import com.gameshelf.security.JwtUtil;
+import com.gameshelf.security.LoginThrottle;
+import com.gameshelf.security.PasswordHashingExecutor;
+import com.gameshelf.security.VerifiedToken;
 import com.gameshelf.service.AuthService;
+import com.gameshelf.service.RefreshTokenService;
+import com.gameshelf.service.TokenRevocationService;
 
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -30,40 +49,164 @@ public class AuthController {
     private final AuthService authService;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final LoginThrottle loginThrottle;
     private static final Logger log = LoggerFactory.getLogger(AuthController.class);
 
+    /**
+     * Registers a new user. The password is hashed on the password hashing executor,
+     * leaving the request thread free.
+     *
+     * @param request the registration details
+     * @return a future completing with the registration result
+     * @throws HashingCapacityExceededException if too many password operations are queued
+     */
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody AuthRequest request) {
-        String result = authService.registerUser(
-            request.getUsername(), 
-            request.getEmail(), 
-            request.getPassword()
-        );
-        return ResponseEntity.ok(result);
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody AuthRequest request) {
+        return passwordHashingExecutor.submit(() -> {
+            String result = authService.registerUser(
+                request.getUsername(), 
+                request.getEmail(), 
+                request.getPassword()
+            );
+            return ResponseEntity.ok(result);
+        });
     }
 
+    /**
+     * Logs in with username and password. Attempts over the rate limit for the username
+     * or client address are refused before the password is checked; the check itself runs
+     * on the password hashing executor, leaving the request thread free.
+     *
+     * @param request the credentials
+     * @param httpRequest the HTTP request, for the client address
+     * @return a future completing with the access and refresh tokens, or 401
+     * @throws TooManyLoginAttemptsException if the attempt is over the rate limit
+     * @throws HashingCapacityExceededException if too many password operations are queued
+     */
     @PostMapping("/login")
-    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<TokenResponse>> login(@Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest) {
+        loginThrottle.check(request.getUsername(), httpRequest.getRemoteAddr());
+        return passwordHashingExecutor.submit(() -> authenticate(request));
+    }
+
+    private ResponseEntity<TokenResponse> authenticate(LoginRequest request) {
         try {
             log.debug("Login attempt for user: {}", request.getUsername());
-            System.out.println("Debug - Login attempt:");
-            System.out.println("Username: " + request.getUsername());
-            System.out.println("Password length: " + (request.getPassword() != null ? request.getPassword().length() : "null"));
             
             Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
             );
 
             String jwt = jwtUtil.generateToken(authentication.getName());
+            String refreshToken = refreshTokenService.issue(((User) authentication.getPrincipal()).getId());
             log.debug("Successfully generated token for user: {}", request.getUsername());
             
-            return ResponseEntity.ok(new TokenResponse(jwt));
+            return ResponseEntity.ok(new TokenResponse(jwt, refreshToken));
         } catch (AuthenticationException e) {
-            log.error("Authentication failed for user: {}", request.getUsername(), e);
-            System.out.println("Debug - Authentication failed:");
-            System.out.println("Error message: " + e.getMessage());
-            System.out.println("Error type: " + e.getClass().getSimpleName());
+            log.info("Authentication failed for user: {} ({})", request.getUsername(), e.getClass().getSimpleName());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
     }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     * Each refresh token can be used once; reusing one revokes every token rotated
+     * from the same login.
+     *
+     * @param request the refresh token
+     * @return ResponseEntity containing the new tokens
+     * @throws ResponseStatusException if the refresh token is invalid, expired, revoked or already used
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return refreshTokenService.rotate(request.getRefreshToken())
+            .map(ResponseEntity::ok)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token"));
+    }
+
+    /**
+     * Logs out by revoking the bearer token the request was made with.
+     * The token is rejected from now on, on every node, until it expires.
+     * A refresh token sent in the body is revoked together with its rotations.
+     *
+     * @param authorization the request's {@code Authorization} header
+     * @param request the session's refresh token, optional
+     * @param user the authenticated user
+     * @return ResponseEntity with no content
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+        }
+
+        // The filter has already verified this token, so this is a cache hit
+        tokenRevocationService.revoke(jwtUtil.verify(authorization.substring("Bearer ".length())));
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenService.revoke(request.getRefreshToken(), user.id());
+        }
+        log.info("User: {} logged out", user.username());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Logs out everywhere: revokes the bearer token and every refresh token of the user.
+     * Access tokens issued to other sessions stay valid until they expire.
+     *
+     * @param authorization the request's {@code Authorization} header
+     * @param user the authenticated user
+     * @return ResponseEntity with no content
+     */
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+        }
+
+        tokenRevocationService.revoke(jwtUtil.verify(authorization.substring("Bearer ".length())));
+        int revoked = refreshTokenService.revokeAll(user.id());
+        log.info("User: {} logged out everywhere, revoking {} refresh tokens", user.username(), revoked);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Revokes a token of the authenticated user, e.g. one issued to a lost device.
+     * Administrators may revoke any user's token. Revoking a token that is already
+     * invalid, expired or revoked succeeds without effect.
+     *
+     * @param request the token to revoke
+     * @param user the authenticated user
+     * @return ResponseEntity with no content
+     * @throws ResponseStatusException if the token belongs to another user and the caller is not an administrator
+     */
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revoke(@Valid @RequestBody TokenRevocationRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+        }
+
+        VerifiedToken token;
+        try {
+            token = jwtUtil.verify(request.getToken());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Revocation of unusable token requested by user: {}", user.username());
+            return ResponseEntity.noContent().build();
+        }
+
+        boolean isAdmin = user.authorities().stream().anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+        if (!token.subject().equals(user.username()) && !isAdmin) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Token belongs to another user");
+        }
+        tokenRevocationService.revoke(token);
+        log.info("User: {} revoked a token of user: {}", user.username(), token.subject());
+        return ResponseEntity.noContent().build();
+    }
 }
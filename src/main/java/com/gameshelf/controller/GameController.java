@@ -1,26 +1,53 @@
 package com.gameshelf.controller;
 
-import java.util.Set;
+import java.util.List;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.gameshelf.dto.BatchItemResult;
+import com.gameshelf.dto.GameCursor;
+import com.gameshelf.dto.GameFacets;
+import com.gameshelf.dto.GameField;
+import com.gameshelf.dto.GameFields;
+import com.gameshelf.dto.GamePage;
+import com.gameshelf.dto.ResourceVersion;
+import com.gameshelf.dto.SearchHit;
 import com.gameshelf.model.Game;
-import com.gameshelf.model.User;
+import com.gameshelf.monitoring.QueryBudget;
 import com.gameshelf.repository.GameRepository;
+import com.gameshelf.repository.UserRepository;
+import com.gameshelf.security.AuthenticatedUser;
+import com.gameshelf.service.GameBatchService;
+import com.gameshelf.service.GameExportService;
+import com.gameshelf.service.GameFacetsService;
+import com.gameshelf.service.GameJsonCache;
+import com.gameshelf.service.GameSearchIndex;
+import com.gameshelf.service.GameService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -36,7 +63,22 @@ import lombok.RequiredArgsConstructor;
 public class GameController {
     private static final Logger log = LoggerFactory.getLogger(GameController.class);
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    static final int DEFAULT_SEARCH_LIMIT = 20;
+    static final int MAX_SEARCH_LIMIT = 100;
+
     private final GameRepository gameRepository;
+    private final UserRepository userRepository;
+    private final GameService gameService;
+    private final GameExportService gameExportService;
+    private final GameBatchService gameBatchService;
+    private final GameSearchIndex gameSearchIndex;
+    private final GameFacetsService gameFacetsService;
+    private final GameJsonCache gameJsonCache;
+
+    @Value("${app.games.batch.max-items:5000}")
+    private int maxBatchItems;
 
     /**
      * Adds a new game to the user's collection.
@@ -47,21 +89,21 @@ public class GameController {
      * @throws ResponseStatusException if user is not authenticated or request is invalid
      */
     @PostMapping
-    public ResponseEntity<Game> addGame(@Valid @RequestBody Game game, @AuthenticationPrincipal User user) {
+    @QueryBudget(5)
+    public ResponseEntity<Game> addGame(@Valid @RequestBody Game game, @AuthenticationPrincipal AuthenticatedUser user) {
         try {
             if (user == null) {
                 throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
             }
             
-            log.debug("Adding game: {} for user: {}", game.getTitle(), user.getUsername());
+            log.debug("Adding game: {} for user: {}", game.getTitle(), user.username());
             
             if (game.getTitle() == null || game.getGenre() == null || game.getPlatform() == null) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Required game fields missing");
             }
             
-            game.setUser(user);
-            Game savedGame = gameRepository.save(game);
-            log.info("Successfully added game: {} for user: {}", savedGame.getTitle(), user.getUsername());
+            Game savedGame = gameService.addGame(game, user);
+            log.info("Successfully added game: {} for user: {}", savedGame.getTitle(), user.username());
             return ResponseEntity.ok(savedGame);
         } catch (ResponseStatusException e) {
             throw e;
@@ -72,19 +114,189 @@ public class GameController {
     }
 
     /**
-     * Retrieves all games for the authenticated user.
+     * Adds many games to the user's collection in one request.
+     * Games are written in chunked transactions using JDBC batching; the response
+     * reports the outcome of every entry, including title conflicts.
      * 
+     * @param games the games to add
      * @param user the authenticated user
-     * @return ResponseEntity containing the set of user's games
-     * @throws ResponseStatusException if user is not authenticated
+     * @return ResponseEntity containing one result per requested game, in request order
+     * @throws ResponseStatusException if user is not authenticated or the batch is empty or too large
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> addGames(@RequestBody List<Game> games,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+        }
+        if (games == null || games.isEmpty() || games.size() > maxBatchItems) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Batch must contain between 1 and " + maxBatchItems + " games");
+        }
+
+        log.debug("Adding batch of {} games for user: {}", games.size(), user.username());
+        return ResponseEntity.ok(gameBatchService.addGames(games, user));
+    }
+
+    /**
+     * Retrieves one page of games for the authenticated user, ordered by title.
+     * Pagination is keyset based: pass the {@code nextCursor} of the previous page
+     * as {@code after} to continue, so every page costs the same regardless of depth.
+     * Supports conditional requests: an unchanged library is answered with
+     * {@code 304 Not Modified} without reading any games. Pages are cached as serialized
+     * JSON until the library changes.
+     * With {@code fields}, only the listed attributes are selected from the database and returned.
+     * 
+     * @param limit maximum number of games to return (default 50, max 200)
+     * @param after opaque cursor returned by the previous page, or null for the first page
+     * @param fields comma-separated attributes to return, e.g. {@code id,title,platform}, or null for all
+     * @param user the authenticated user
+     * @param request the current request, used for conditional request handling
+     * @return ResponseEntity containing the page of games and the cursor for the next one,
+     *         or null if the client's copy is still current
+     * @throws ResponseStatusException if user is not authenticated or the paging parameters are invalid
      */
     @GetMapping
-    public ResponseEntity<Set<Game>> getGames(@AuthenticationPrincipal User user) {
+    @QueryBudget(3)
+    public ResponseEntity<byte[]> getGames(@RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after, @RequestParam(required = false) String fields,
+            @AuthenticationPrincipal AuthenticatedUser user, ServletWebRequest request) {
         if (user == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
         }
-        log.debug("Retrieving games for user: {}", user.getUsername());
-        return ResponseEntity.ok(user.getGames());
+
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        GameCursor cursor = after == null || after.isEmpty() ? null : GameCursor.decode(after);
+        List<GameField> selectedFields = fields == null ? null : GameField.parse(fields);
+        log.debug("Retrieving games for user: {} (limit: {}, after: {}, fields: {})",
+            user.username(), pageSize, after, fields);
+
+        ResourceVersion libraryVersion = userRepository.findLibraryVersion(user.id())
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated"));
+        if (isNotModified(request, "\"" + user.id() + "-" + libraryVersion.version() + "\"", libraryVersion)) {
+            return null;
+        }
+
+        String pageKey = pageSize + "|" + (cursor == null ? "" : after) + "|" + (fields == null ? "*" : fields);
+        byte[] json = gameJsonCache.getLibraryPage(user.id(), libraryVersion.version(), pageKey,
+            () -> loadPage(user.id(), cursor, selectedFields, pageSize));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
+    }
+
+    private GamePage<?> loadPage(Long userId, GameCursor cursor, List<GameField> selectedFields, int pageSize) {
+        // Fetch one extra row to learn whether another page exists without a count query
+        int fetchSize = pageSize + 1;
+        if (selectedFields != null) {
+            List<GameFields> rows = gameRepository.findPageFields(userId, cursor, selectedFields, fetchSize);
+            return toPage(rows, pageSize, GameFields::position);
+        }
+
+        List<Game> games = cursor == null
+            ? gameRepository.findFirstPage(userId, Limit.of(fetchSize))
+            : gameRepository.findPageAfter(userId, cursor.title(), cursor.id(), Limit.of(fetchSize));
+        return toPage(games, pageSize, GameCursor::after);
+    }
+
+    private static <T> GamePage<T> toPage(List<T> rows, int pageSize, Function<T, GameCursor> position) {
+        if (rows.size() <= pageSize) {
+            return new GamePage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new GamePage<>(items, position.apply(items.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Exports the authenticated user's whole library.
+     * Rows are streamed from the database straight to the response, so the
+     * library is never held in memory as a whole.
+     * 
+     * @param format either {@code ndjson} (default) or {@code csv}
+     * @param user the authenticated user
+     * @return ResponseEntity streaming the exported library
+     * @throws ResponseStatusException if user is not authenticated
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportGames(
+            @RequestParam(defaultValue = "ndjson") String format, @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+        }
+
+        GameExportService.Format exportFormat = GameExportService.Format.fromParameter(format);
+        Long userId = user.id();
+        log.debug("Exporting games for user: {} as {}", user.username(), exportFormat);
+
+        StreamingResponseBody body = out -> gameExportService.export(userId, exportFormat, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"games." + exportFormat.getExtension() + "\"")
+            .body(body);
+    }
+
+    /**
+     * Searches the authenticated user's games by title, genre, platform and notes.
+     * Every word of the query must match the start of a word in the game; hits are
+     * ranked by relevance, with title matches weighing most. Served from an in-memory
+     * index, so no database query is made.
+     * 
+     * @param q the search text
+     * @param limit maximum number of hits to return (default 20, max 100)
+     * @param user the authenticated user
+     * @return ResponseEntity containing the matching games, best match first
+     * @throws ResponseStatusException if user is not authenticated or the parameters are invalid
+     */
+    @GetMapping("/search")
+    @QueryBudget(1)
+    public ResponseEntity<List<SearchHit>> searchGames(@RequestParam String q,
+            @RequestParam(required = false) Integer limit, @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+        }
+        if (q.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q must not be blank");
+        }
+        int maxHits = limit != null ? limit : DEFAULT_SEARCH_LIMIT;
+        if (maxHits < 1 || maxHits > MAX_SEARCH_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+
+        log.debug("Searching games for user: {} (q: {}, limit: {})", user.username(), q, maxHits);
+        return ResponseEntity.ok(gameSearchIndex.search(user.id(), q, maxHits));
+    }
+
+    /**
+     * Retrieves facet counts over the authenticated user's whole library: games per
+     * genre, per platform, per whole-star rating and per release year.
+     * Counts are computed in the database and cached until the library changes.
+     * Supports conditional requests like the game list.
+     * 
+     * @param user the authenticated user
+     * @param request the current request, used for conditional request handling
+     * @return ResponseEntity containing the facet counts, or null if the client's copy is still current
+     * @throws ResponseStatusException if user is not authenticated
+     */
+    @GetMapping("/facets")
+    @QueryBudget(6)
+    public ResponseEntity<GameFacets> getFacets(@AuthenticationPrincipal AuthenticatedUser user, ServletWebRequest request) {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+        }
+
+        log.debug("Retrieving facets for user: {}", user.username());
+
+        ResourceVersion libraryVersion = userRepository.findLibraryVersion(user.id())
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated"));
+        if (isNotModified(request, "\"" + user.id() + "-" + libraryVersion.version() + "\"", libraryVersion)) {
+            return null;
+        }
+        return ResponseEntity.ok(gameFacetsService.getFacets(user.id(), libraryVersion.version()));
     }
 
     /**
@@ -97,25 +309,48 @@ public class GameController {
      * @throws ResponseStatusException if game not found or user not authorized
      */
     @PutMapping("/{id}")
+    @QueryBudget(4)
     public ResponseEntity<Game> updateGame(@PathVariable Long id, @Valid @RequestBody Game updatedGame, 
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         if (user == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
         }
         
-        log.debug("Updating game with id: {} for user: {}", id, user.getUsername());
+        log.debug("Updating game with id: {} for user: {}", id, user.username());
         
-        return gameRepository.findById(id)
-            .filter(game -> game.getUser() != null && game.getUser().getId().equals(user.getId()))
-            .map(game -> {
-                game.setTitle(updatedGame.getTitle());
-                game.setGenre(updatedGame.getGenre());
-                game.setPlatform(updatedGame.getPlatform());
-                game.setRating(updatedGame.getRating());
-                game.setReleaseDate(updatedGame.getReleaseDate());
-                game.setNotes(updatedGame.getNotes());
-                Game saved = gameRepository.save(game);
-                log.info("Successfully updated game with id: {} for user: {}", id, user.getUsername());
+        return gameService.updateGame(id, updatedGame, user)
+            .map(saved -> {
+                log.info("Successfully updated game with id: {} for user: {}", id, user.username());
+                return ResponseEntity.ok(saved);
+            })
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Game not found or unauthorized"));
+    }
+
+    /**
+     * Partially updates a game in the user's collection with a JSON Merge Patch.
+     * Only the fields present in the body change, e.g. {@code {"rating": 4.5}};
+     * a {@code null} value clears an optional field.
+     * 
+     * @param id the ID of the game to update
+     * @param patch the merge patch document
+     * @param user the authenticated user
+     * @return ResponseEntity containing the updated game
+     * @throws ResponseStatusException if game not found or user not authorized
+     * @throws IllegalArgumentException if the patch is invalid
+     */
+    @PatchMapping(path = "/{id}", consumes = "application/merge-patch+json")
+    @QueryBudget(4)
+    public ResponseEntity<Game> patchGame(@PathVariable Long id, @RequestBody JsonNode patch,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+        }
+
+        log.debug("Patching game with id: {} for user: {}", id, user.username());
+
+        return gameService.patchGame(id, patch, user)
+            .map(saved -> {
+                log.info("Successfully patched game with id: {} for user: {}", id, user.username());
                 return ResponseEntity.ok(saved);
             })
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Game not found or unauthorized"));
@@ -130,42 +365,73 @@ public class GameController {
      * @throws ResponseStatusException if game not found or user not authorized
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteGame(@PathVariable Long id, @AuthenticationPrincipal User user) {
+    @QueryBudget(4)
+    public ResponseEntity<Void> deleteGame(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
         if (user == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
         }
         
-        log.debug("Deleting game with id: {} for user: {}", id, user.getUsername());
+        log.debug("Deleting game with id: {} for user: {}", id, user.username());
         
-        return gameRepository.findById(id)
-            .filter(game -> game.getUser() != null && game.getUser().getId().equals(user.getId()))
-            .map(game -> {
-                gameRepository.delete(game);
-                log.info("Successfully deleted game with id: {} for user: {}", id, user.getUsername());
-                return ResponseEntity.noContent().<Void>build();
-            })
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Game not found or unauthorized"));
+        if (!gameService.deleteGame(id, user)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Game not found or unauthorized");
+        }
+        log.info("Successfully deleted game with id: {} for user: {}", id, user.username());
+        return ResponseEntity.noContent().build();
     }
 
     /**
      * Retrieves a specific game by ID.
+     * Supports conditional requests: an unchanged game is answered with
+     * {@code 304 Not Modified} without loading it. The full game is cached as serialized
+     * JSON until it changes.
+     * With {@code fields}, only the listed attributes are selected from the database and returned.
      * 
      * @param id the ID of the game to retrieve
+     * @param fields comma-separated attributes to return, e.g. {@code id,title,rating}, or null for all
      * @param user the authenticated user
-     * @return ResponseEntity containing the requested game
+     * @param request the current request, used for conditional request handling
+     * @return ResponseEntity containing the requested game, or null if the client's copy is still current
      * @throws ResponseStatusException if game not found or user not authorized
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Game> getGame(@PathVariable Long id, @AuthenticationPrincipal User user) {
+    @QueryBudget(3)
+    public ResponseEntity<?> getGame(@PathVariable Long id, @RequestParam(required = false) String fields,
+            @AuthenticationPrincipal AuthenticatedUser user, ServletWebRequest request) {
         if (user == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
         }
+
+        List<GameField> selectedFields = fields == null ? null : GameField.parse(fields);
         
-        log.debug("Retrieving game with id: {} for user: {}", id, user.getUsername());
-        
-        return gameRepository.findById(id)
-            .filter(game -> game.getUser() != null && game.getUser().getId().equals(user.getId()))
-            .map(ResponseEntity::ok)
+        log.debug("Retrieving game with id: {} for user: {}", id, user.username());
+
+        ResourceVersion gameVersion = gameRepository.findVersion(id, user.id())
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Game not found or unauthorized"));
+        if (isNotModified(request, "\"" + id + "-" + gameVersion.version() + "\"", gameVersion)) {
+            return null;
+        }
+
+        if (selectedFields != null) {
+            return gameRepository.findFieldsById(id, user.id(), selectedFields)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Game not found or unauthorized"));
+        }
+        byte[] json = gameJsonCache.getGame(user.id(), id, gameVersion.version(), () -> gameRepository.findById(id)
+            .filter(game -> game.getUser() != null && game.getUser().getId().equals(user.id()))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Game not found or unauthorized")));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
+    }
+
+    /**
+     * Sets the validators for a response and checks them against the request's
+     * {@code If-None-Match} and {@code If-Modified-Since} headers.
+     * When this returns true the response status is already 304 and the handler must return null.
+     */
+    private boolean isNotModified(ServletWebRequest request, String etag, ResourceVersion version) {
+        // Let clients keep a private copy but always revalidate it
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL,
+            CacheControl.noCache().cachePrivate().getHeaderValue());
+        return request.checkNotModified(etag, version.lastModified().toEpochMilli());
     }
 }
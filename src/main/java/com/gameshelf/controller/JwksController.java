@@ -0,0 +1,35 @@
+package com.gameshelf.controller;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.gameshelf.security.JwtKeyRing;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+
+    /**
+     * Publishes the public keys tokens are signed with, so other services can verify
+     * tokens offline. HMAC keys are shared secrets and never appear here.
+     *
+     * @return the JSON Web Key Set
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> getJwks() {
+        return ResponseEntity.ok()
+            // Verifiers refetch on an unknown kid, so a short cache suffices for rotations
+            .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+            .body(Map.of("keys", keyRing.publicJwks()));
+    }
+}
@@ -0,0 +1,35 @@
+package com.gameshelf.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of one entry of a batch request, reported at the entry's position in the request.
+ */
+@Data
+@AllArgsConstructor
+public class BatchItemResult {
+
+    /**
+     * Possible outcomes of a batch entry.
+     */
+    public enum Status {
+        CREATED,
+        CONFLICT,
+        INVALID,
+        FAILED
+    }
+
+    private int index;
+    private Status status;
+    private Long id;
+    private String message;
+
+    public static BatchItemResult created(int index, Long id) {
+        return new BatchItemResult(index, Status.CREATED, id, null);
+    }
+
+    public static BatchItemResult rejected(int index, Status status, String message) {
+        return new BatchItemResult(index, status, null, message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.gameshelf.dto;
+
+/**
+ * Number of games sharing one value of an attribute.
+ *
+ * @param value the attribute value, or null for games without one
+ * @param count number of games with this value
+ * @param <T> type of the attribute value
+ */
+public record FacetCount<T>(T value, long count) {
+}
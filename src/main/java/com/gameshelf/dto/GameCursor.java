@@ -0,0 +1,60 @@
+package com.gameshelf.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.gameshelf.model.Game;
+
+/**
+ * Keyset cursor over the {@code (title, id)} ordering of a user's games.
+ * Clients receive it as an opaque URL-safe string and hand it back unchanged
+ * to fetch the page that follows the last game they saw.
+ *
+ * @param title title of the last game on the previous page
+ * @param id id of the last game on the previous page
+ */
+public record GameCursor(String title, Long id) {
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Creates the cursor pointing just past the given game.
+     *
+     * @param game the last game of a page
+     * @return cursor positioned after the game
+     */
+    public static GameCursor after(Game game) {
+        return new GameCursor(game.getTitle(), game.getId());
+    }
+
+    /**
+     * Encodes the cursor as an opaque URL-safe Base64 string.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + title;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static GameCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new GameCursor(raw.substring(separator + 1), Long.valueOf(raw.substring(0, separator)));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException and Base64 decoding errors are both IllegalArgumentExceptions
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
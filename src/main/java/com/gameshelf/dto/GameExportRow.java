@@ -0,0 +1,18 @@
+package com.gameshelf.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Flat, unmanaged view of a game used by the library export.
+ * Rows are produced by a JPQL constructor expression, so they never enter
+ * the persistence context and can be discarded as soon as they are written.
+ */
+public record GameExportRow(
+        Long id,
+        String title,
+        String genre,
+        String platform,
+        Double rating,
+        LocalDate releaseDate,
+        String notes) {
+}
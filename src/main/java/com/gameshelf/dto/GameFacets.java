@@ -0,0 +1,23 @@
+package com.gameshelf.dto;
+
+import java.util.List;
+
+/**
+ * Summary counts over a user's whole library, used to build filter sidebars.
+ * Genres and platforms are ordered by descending count; rating buckets and
+ * release years are ordered by value, with the null bucket (unrated or
+ * undated games) last.
+ *
+ * @param total number of games in the library
+ * @param genres number of games per genre
+ * @param platforms number of games per platform
+ * @param ratings number of games per whole-star rating, e.g. 4 counts ratings from 4.0 to below 5.0
+ * @param releaseYears number of games per release year
+ */
+public record GameFacets(
+        long total,
+        List<FacetCount<String>> genres,
+        List<FacetCount<String>> platforms,
+        List<FacetCount<Integer>> ratings,
+        List<FacetCount<Integer>> releaseYears) {
+}
@@ -0,0 +1,58 @@
+package com.gameshelf.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Game attributes that clients may select with the {@code fields} request parameter.
+ * Each constant's property is both the entity attribute used in the query and the JSON name.
+ */
+public enum GameField {
+    ID("id"),
+    TITLE("title"),
+    GENRE("genre"),
+    PLATFORM("platform"),
+    RATING("rating"),
+    RELEASE_DATE("releaseDate"),
+    NOTES("notes"),
+    VERSION("version"),
+    UPDATED_AT("updatedAt");
+
+    private final String property;
+
+    GameField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Parses a comma-separated field list such as {@code id,title,platform}.
+     * Duplicates are dropped and the requested order is kept.
+     *
+     * @param fields the field list from the request
+     * @return the selected fields
+     * @throws IllegalArgumentException if the list is empty or names an unknown field
+     */
+    public static List<GameField> parse(String fields) {
+        List<GameField> selected = new ArrayList<>();
+        for (String name : fields.split(",")) {
+            GameField field = fromProperty(name.trim());
+            if (!selected.contains(field)) {
+                selected.add(field);
+            }
+        }
+        return selected;
+    }
+
+    private static GameField fromProperty(String name) {
+        for (GameField field : values()) {
+            if (field.property.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown game field: " + name);
+    }
+}
@@ -0,0 +1,16 @@
+package com.gameshelf.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * A game reduced to the fields a client asked for.
+ * Serializes as a plain JSON object holding only those fields.
+ *
+ * @param position keyset position of the game, used to build the next page cursor
+ * @param values the selected fields in requested order
+ */
+public record GameFields(@JsonIgnore GameCursor position, @JsonValue Map<String, Object> values) {
+}
@@ -0,0 +1,20 @@
+package com.gameshelf.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One page of a user's game library.
+ * Items are either full games or, for sparse fieldset requests, the selected fields only.
+ * {@code nextCursor} is null once the last page has been reached.
+ *
+ * @param <T> type of the page items
+ */
+@Data
+@AllArgsConstructor
+public class GamePage<T> {
+    private List<T> items;
+    private String nextCursor;
+}
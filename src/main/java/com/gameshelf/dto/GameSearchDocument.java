@@ -0,0 +1,14 @@
+package com.gameshelf.dto;
+
+/**
+ * The searchable text of a game, as read to build the search index.
+ *
+ * @param userId the owner of the game
+ * @param id the ID of the game
+ * @param title the game's title
+ * @param genre the game's genre
+ * @param platform the game's platform
+ * @param notes the owner's notes, may be null
+ */
+public record GameSearchDocument(Long userId, Long id, String title, String genre, String platform, String notes) {
+}
@@ -0,0 +1,13 @@
+package com.gameshelf.dto;
+
+import java.time.Instant;
+
+/**
+ * Version and last modification time of a resource, read without loading the resource itself.
+ * Used to answer conditional requests before any game rows are fetched.
+ *
+ * @param version counter incremented on every change
+ * @param lastModified time of the last change
+ */
+public record ResourceVersion(long version, Instant lastModified) {
+}
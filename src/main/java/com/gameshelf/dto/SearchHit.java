@@ -0,0 +1,13 @@
+package com.gameshelf.dto;
+
+/**
+ * One game matching a search, with its relevance score.
+ *
+ * @param id the ID of the game
+ * @param title the game's title
+ * @param genre the game's genre
+ * @param platform the game's platform
+ * @param score relevance of the game to the query; higher is better
+ */
+public record SearchHit(Long id, String title, String genre, String platform, double score) {
+}
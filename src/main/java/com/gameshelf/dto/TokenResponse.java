@@ -7,4 +7,5 @@ import lombok.Data;
 @AllArgsConstructor
 public class TokenResponse {
     private String token;
+    private String refreshToken;
 }
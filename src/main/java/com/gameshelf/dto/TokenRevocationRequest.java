@@ -0,0 +1,10 @@
+package com.gameshelf.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class TokenRevocationRequest {
+    @NotBlank
+    private String token;
+}
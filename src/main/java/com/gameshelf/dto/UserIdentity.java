@@ -0,0 +1,10 @@
+package com.gameshelf.dto;
+
+/**
+ * The unique names of a user: username and email.
+ *
+ * @param username the username
+ * @param email the email address
+ */
+public record UserIdentity(String username, String email) {
+}
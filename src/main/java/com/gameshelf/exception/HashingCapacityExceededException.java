@@ -0,0 +1,21 @@
+package com.gameshelf.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the password hashing executor cannot take more work. Clients should retry
+ * after the given delay rather than queue behind a login burst.
+ */
+public class HashingCapacityExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public HashingCapacityExceededException(Duration retryAfter) {
+        super("Too many password checks in progress, please retry");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
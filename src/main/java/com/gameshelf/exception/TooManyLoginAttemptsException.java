@@ -0,0 +1,21 @@
+package com.gameshelf.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when login attempts for a username or from an address exceed their rate limit.
+ * The attempt is refused before the password is checked.
+ */
+public class TooManyLoginAttemptsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyLoginAttemptsException(Duration retryAfter) {
+        super("Too many login attempts, please retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,137 @@
+package com.gameshelf.logging;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes one access log line per request to the {@code com.gameshelf.access} logger,
+ * with method, route, URI, status, duration and client as key-value pairs, so the
+ * structured log format of the {@code prod} profile turns them into fields.
+ * <p>
+ * Each request gets an id, put in the MDC and returned as {@code X-Request-Id}, tying
+ * its log lines together. A configurable fraction of requests is sampled for debug
+ * logging, which {@link SampledDebugTurboFilter} enables for those requests alone.
+ * Requests completing asynchronously, such as logins, are logged when they complete.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    /** MDC key holding the id of the current request. */
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+    /** MDC key present while handling a request sampled for debug logging. */
+    public static final String SAMPLED_MDC_KEY = "debugSampled";
+
+    private static final Logger accessLog = LoggerFactory.getLogger("com.gameshelf.access");
+
+    private final boolean enabled;
+    private final double debugSampleRate;
+
+    public AccessLogFilter(@Value("${app.logging.access.enabled:true}") boolean enabled,
+            @Value("${app.logging.debug-sample-rate:0}") double debugSampleRate) {
+        this.enabled = enabled;
+        this.debugSampleRate = debugSampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        String requestId = Long.toHexString(ThreadLocalRandom.current().nextLong() >>> 1);
+        response.setHeader("X-Request-Id", requestId);
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        if (debugSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < debugSampleRate) {
+            MDC.put(SAMPLED_MDC_KEY, "true");
+        }
+
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (enabled) {
+                if (!failed && request.isAsyncStarted()) {
+                    request.getAsyncContext().addListener(new CompletionListener(request, response, requestId, start));
+                } else {
+                    log(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(), start);
+                }
+            }
+            MDC.remove(REQUEST_ID_MDC_KEY);
+            MDC.remove(SAMPLED_MDC_KEY);
+        }
+    }
+
+    private static void log(HttpServletRequest request, int status, long start) {
+        if (!accessLog.isInfoEnabled()) {
+            return;
+        }
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        accessLog.atInfo()
+            .addKeyValue("method", request.getMethod())
+            .addKeyValue("route", route)
+            .addKeyValue("uri", request.getRequestURI())
+            .addKeyValue("status", status)
+            .addKeyValue("durationMs", durationMillis)
+            .addKeyValue("client", request.getRemoteAddr())
+            .log("{} {} {} {}ms", request.getMethod(), request.getRequestURI(), status, durationMillis);
+    }
+
+    /**
+     * Logs an asynchronously handled request once its response is complete.
+     */
+    private static final class CompletionListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final String requestId;
+        private final long start;
+
+        CompletionListener(HttpServletRequest request, HttpServletResponse response, String requestId, long start) {
+            this.request = request;
+            this.response = response;
+            this.requestId = requestId;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            MDC.put(REQUEST_ID_MDC_KEY, requestId);
+            try {
+                log(request, response.getStatus(), start);
+            } finally {
+                MDC.remove(REQUEST_ID_MDC_KEY);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.gameshelf.logging;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+/**
+ * Logback appender handing events to its attached appenders on a background thread,
+ * so threads that log never wait for console or file I/O.
+ * <p>
+ * Events go through a bounded ring buffer that producers claim slots in with a
+ * compare-and-set on the tail sequence, without locks (the multi-producer queue
+ * described by Dmitry Vyukov). A single worker thread drains it. When the buffer is
+ * full the event is dropped rather than blocking the caller; the number dropped is
+ * reported as a warning once there is room again.
+ * <p>
+ * Configured in {@code logback-spring.xml}; {@code capacity} is rounded up to a power of two.
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    private int capacity = 8192;
+    private long maxFlushTime = 1000;
+    private int mask;
+    private AtomicReferenceArray<ILoggingEvent> slots;
+    // sequence == position: free for the producer claiming it; position + 1: holds an event
+    private AtomicLongArray sequences;
+    private long head;
+    private volatile boolean workerParked;
+    private Thread worker;
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets how long stopping waits for the buffered events to be written, in milliseconds.
+     */
+    public void setMaxFlushTime(long maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    /**
+     * Returns the number of events dropped because the buffer was full, since the last report.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (capacity < 1) {
+            addError("Invalid capacity " + capacity + " for appender " + name);
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to " + name);
+            return;
+        }
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        mask = size - 1;
+        slots = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        tail.set(0);
+        head = 0;
+
+        super.start();
+        worker = new Thread(this::drain, "logback-ring-buffer-" + name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        LockSupport.unpark(worker);
+        try {
+            worker.join(maxFlushTime);
+            if (worker.isAlive()) {
+                addWarn("Timed out after " + maxFlushTime + "ms writing the buffered events of " + name);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Capture the message, thread name and MDC now; the worker formats the event later
+        event.prepareForDeferredProcessing();
+        if (!offer(event)) {
+            dropped.increment();
+            return;
+        }
+        if (workerParked) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private boolean offer(ILoggingEvent event) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (sequence < position) {
+                // The slot still holds the event from one lap ago: the buffer is full
+                return false;
+            }
+            // Another producer claimed the position first; retry with the new tail
+        }
+    }
+
+    private ILoggingEvent poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        ILoggingEvent event = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return event;
+    }
+
+    private void drain() {
+        while (true) {
+            ILoggingEvent event = poll();
+            if (event != null) {
+                appenders.appendLoopOnAppenders(event);
+                continue;
+            }
+            reportDropped();
+            if (!isStarted()) {
+                break;
+            }
+            workerParked = true;
+            // Check again after publishing the flag, so an event offered meanwhile is not left waiting
+            if (sequences.get((int) head & mask) != head + 1) {
+                workerParked = false;
+                continue;
+            }
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            workerParked = false;
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    private void reportDropped() {
+        long count = dropped.sumThenReset();
+        if (count == 0 || !(getContext() instanceof LoggerContext loggerContext)) {
+            return;
+        }
+        Logger logger = loggerContext.getLogger(RingBufferAppender.class);
+        LoggingEvent warning = new LoggingEvent(RingBufferAppender.class.getName(), logger, Level.WARN,
+            "Log buffer full, dropped {} events", null, new Object[] {count});
+        warning.prepareForDeferredProcessing();
+        appenders.appendLoopOnAppenders(warning);
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
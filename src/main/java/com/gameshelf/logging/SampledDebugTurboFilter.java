@@ -0,0 +1,33 @@
+package com.gameshelf.logging;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Turns on debug logging of the application's own loggers for sampled requests only,
+ * whatever their configured level. {@link AccessLogFilter} marks a request as sampled
+ * in the MDC; every other request logs at the configured level and pays nothing for
+ * the debug statements it skips.
+ */
+public class SampledDebugTurboFilter extends TurboFilter {
+
+    private String loggerPrefix = "com.gameshelf";
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != Level.DEBUG || MDC.get(AccessLogFilter.SAMPLED_MDC_KEY) == null
+                || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.ACCEPT;
+    }
+}
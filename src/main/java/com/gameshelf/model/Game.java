@@ -1,8 +1,13 @@
 package com.gameshelf.model;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -12,24 +17,31 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 /**
  * Entity representing a video game in the system.
  * This class stores information about individual games
  * and their relationship to users who own them.
+ * Updates only write the columns that changed, so small edits such as a new
+ * rating do not rewrite the notes.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "games")
 @Data
 public class Game {
 
     /**
      * Unique identifier for the game.
+     * Drawn from a pooled sequence so inserts can be sent in JDBC batches.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "games_seq")
+    @SequenceGenerator(name = "games_seq", sequenceName = "games_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -75,4 +87,20 @@ public class Game {
      */
     @Column(length = 1000)
     private String notes;
+
+    /**
+     * Row version, incremented by Hibernate on every update.
+     * Backs the game's ETag and guards against lost concurrent updates.
+     */
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    /**
+     * Time of the last change to the game.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant updatedAt;
 }
@@ -0,0 +1,77 @@
+package com.gameshelf.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entity representing one issued refresh token. The token itself is never stored,
+ * only its hash.
+ */
+@Entity
+@Table(name = "refresh_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The user the token was issued to.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /**
+     * Shared by a token and all tokens issued by rotating it, back to the login.
+     */
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    /**
+     * Base64url SHA-256 hash of the token.
+     */
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * Time the token was exchanged for a successor, or null while it is unused.
+     */
+    @Column(name = "used_at")
+    private Instant usedAt;
+
+    /**
+     * Time the token was revoked, or null.
+     */
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+
+    public RefreshToken(User user, String familyId, String tokenHash, Instant createdAt, Instant expiresAt) {
+        this.user = user;
+        this.familyId = familyId;
+        this.tokenHash = tokenHash;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+}
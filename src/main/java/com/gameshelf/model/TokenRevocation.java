@@ -0,0 +1,53 @@
+package com.gameshelf.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity recording the revocation of one token, shared by all application nodes.
+ */
+@Entity
+@Table(name = "token_revocations")
+@Data
+@NoArgsConstructor
+public class TokenRevocation {
+
+    /**
+     * Increasing sequence number; nodes replicate revocations in this order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    /**
+     * The revoked token's {@code jti} claim.
+     */
+    @Column(name = "token_id", nullable = false, unique = true, length = 64)
+    private String tokenId;
+
+    /**
+     * Expiry of the revoked token; the revocation can be forgotten afterwards.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * Time of the revocation.
+     */
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    public TokenRevocation(String tokenId, Instant expiresAt, Instant revokedAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+}
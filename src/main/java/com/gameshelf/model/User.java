@@ -1,5 +1,6 @@
 package com.gameshelf.model;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -19,6 +20,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -42,7 +44,8 @@ public class User implements UserDetails {
      * Unique identifier for the user.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -65,7 +68,24 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private String password;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    /**
+     * Counter bumped on every change to the user's game library.
+     * Only ever written by a bulk update, never through the entity.
+     */
+    @Column(name = "library_version", insertable = false, updatable = false)
+    private long libraryVersion;
+
+    /**
+     * Time of the last change to the user's game library.
+     */
+    @Column(name = "library_updated_at", insertable = false, updatable = false)
+    private Instant libraryUpdatedAt;
+
+    /**
+     * Role names granted to the user. Loaded on demand; authentication fetches
+     * them together with the user in a single query.
+     */
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "role")
     private Set<String> roles;
@@ -116,8 +136,9 @@ public class User implements UserDetails {
 
     /**
      * Collection of games owned by the user.
+     * Never loaded by authentication; read games through {@code GameRepository} instead.
      */
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private Set<Game> games = new HashSet<>();
 
     public Set<Game> getGames() {
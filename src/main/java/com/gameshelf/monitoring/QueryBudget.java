@@ -0,0 +1,24 @@
+package com.gameshelf.monitoring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the most SQL statements one request to a handler method may run, counting
+ * authentication. {@link QueryBudgetFilter} logs a warning when a request goes over,
+ * or fails it when {@code app.query-budget.fail-on-exceed} is set, as in tests.
+ * A budget is an upper bound: responses served from a cache usually run fewer.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    /**
+     * The maximum number of statements.
+     */
+    int value();
+}
@@ -0,0 +1,104 @@
+package com.gameshelf.monitoring;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the SQL statements each request runs and checks them against the
+ * {@link QueryBudget} of the handler method, to catch N+1 selects and extra lookups
+ * creeping into an endpoint. Unless disabled, as in the {@code prod} profile, the count
+ * is returned in the {@code X-Query-Count} header; it covers the statements run before
+ * the response was committed.
+ * <p>
+ * Requests completing asynchronously, such as logins, are not checked: their
+ * statements run on another thread.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    /** Response header carrying the number of statements the request ran. */
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final QueryCounter queryCounter;
+    private final boolean headerEnabled;
+    private final boolean failOnExceed;
+
+    public QueryBudgetFilter(QueryCounter queryCounter,
+            @Value("${app.query-budget.header-enabled:true}") boolean headerEnabled,
+            @Value("${app.query-budget.fail-on-exceed:false}") boolean failOnExceed) {
+        this.queryCounter = queryCounter;
+        this.headerEnabled = headerEnabled;
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        queryCounter.start();
+        int count;
+        try {
+            filterChain.doFilter(request, headerEnabled ? new QueryCountResponse(response) : response);
+        } finally {
+            count = queryCounter.stop();
+        }
+        if (request.isAsyncStarted()) {
+            return;
+        }
+        if (headerEnabled && !response.isCommitted()) {
+            response.setHeader(QUERY_COUNT_HEADER, Integer.toString(count));
+        }
+        checkBudget(request, count);
+    }
+
+    private void checkBudget(HttpServletRequest request, int count) {
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) {
+            return;
+        }
+        QueryBudget budget = handler.getMethodAnnotation(QueryBudget.class);
+        if (budget == null || count <= budget.value()) {
+            return;
+        }
+        String message = String.format("%s %s ran %d SQL statements, over its budget of %d",
+            request.getMethod(), request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE), count, budget.value());
+        if (failOnExceed) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    /**
+     * Adds the statement count to the response as it is committed, while headers can still be set.
+     */
+    private final class QueryCountResponse extends OnCommittedResponseWrapper {
+
+        QueryCountResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            int count = queryCounter.current();
+            if (count >= 0) {
+                setHeader(QUERY_COUNT_HEADER, Integer.toString(count));
+            }
+        }
+    }
+}
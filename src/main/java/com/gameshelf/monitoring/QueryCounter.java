@@ -0,0 +1,53 @@
+package com.gameshelf.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate statement inspector counting the SQL statements prepared on the current
+ * thread between {@link #start()} and {@link #stop()}. {@link QueryBudgetFilter} uses it
+ * to count the statements of each request. Statements run on other threads, such as
+ * those of logins completed on the password hashing executor, are not counted.
+ */
+@Component
+public class QueryCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> count = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] current = count.get();
+        if (current != null) {
+            current[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting on the current thread, from zero.
+     */
+    public void start() {
+        count.set(new int[1]);
+    }
+
+    /**
+     * Returns the number of statements counted so far on the current thread.
+     *
+     * @return the count, or -1 if the thread is not counting
+     */
+    public int current() {
+        int[] current = count.get();
+        return current == null ? -1 : current[0];
+    }
+
+    /**
+     * Stops counting on the current thread.
+     *
+     * @return the number of statements counted, or -1 if the thread was not counting
+     */
+    public int stop() {
+        int result = current();
+        count.remove();
+        return result;
+    }
+}
@@ -1,12 +1,108 @@
 package com.gameshelf.repository;
+import com.gameshelf.dto.FacetCount;
+import com.gameshelf.dto.GameExportRow;
+import com.gameshelf.dto.GameSearchDocument;
+import com.gameshelf.dto.ResourceVersion;
 import com.gameshelf.model.Game;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface GameRepository extends JpaRepository <Game,Long>{
+public interface GameRepository extends JpaRepository <Game,Long>, GameRepositoryCustom {
     List <Game> findByGenre(String genre);
     List <Game> findByPlatform(String platform);
     List <Game> findByTitle(String title);
 
+    /**
+     * Returns the first page of a user's games in {@code (title, id)} order.
+     * Served by the {@code unique_user_game (user_id, title)} index.
+     */
+    @Query("SELECT g FROM Game g WHERE g.user.id = :userId ORDER BY g.title, g.id")
+    List<Game> findFirstPage(@Param("userId") Long userId, Limit limit);
+
+    /**
+     * Returns the page of a user's games that follows the given keyset position,
+     * so the cost of a page does not depend on how deep the client has scrolled.
+     */
+    @Query("SELECT g FROM Game g WHERE g.user.id = :userId "
+            + "AND (g.title > :title OR (g.title = :title AND g.id > :id)) "
+            + "ORDER BY g.title, g.id")
+    List<Game> findPageAfter(@Param("userId") Long userId, @Param("title") String title,
+            @Param("id") Long id, Limit limit);
+
+    /**
+     * Streams all of a user's games as export rows over a forward-only cursor.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.gameshelf.dto.GameExportRow(g.id, g.title, g.genre, g.platform, "
+            + "g.rating, g.releaseDate, g.notes) FROM Game g WHERE g.user.id = :userId ORDER BY g.id")
+    Stream<GameExportRow> streamExportRows(@Param("userId") Long userId);
+
+    /**
+     * Returns which of the given titles the user already owns, in a single query.
+     */
+    @Query("SELECT g.title FROM Game g WHERE g.user.id = :userId AND g.title IN :titles")
+    Set<String> findExistingTitles(@Param("userId") Long userId, @Param("titles") Collection<String> titles);
+
+    /**
+     * Reads the version of one of a user's games without loading the game.
+     */
+    @Query("SELECT new com.gameshelf.dto.ResourceVersion(g.version, g.updatedAt) "
+            + "FROM Game g WHERE g.id = :id AND g.user.id = :userId")
+    Optional<ResourceVersion> findVersion(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Counts a user's games per genre, most common first.
+     */
+    @Query("SELECT new com.gameshelf.dto.FacetCount(g.genre, COUNT(g)) FROM Game g "
+            + "WHERE g.user.id = :userId GROUP BY g.genre ORDER BY COUNT(g) DESC, g.genre")
+    List<FacetCount<String>> countByGenre(@Param("userId") Long userId);
+
+    /**
+     * Counts a user's games per platform, most common first.
+     */
+    @Query("SELECT new com.gameshelf.dto.FacetCount(g.platform, COUNT(g)) FROM Game g "
+            + "WHERE g.user.id = :userId GROUP BY g.platform ORDER BY COUNT(g) DESC, g.platform")
+    List<FacetCount<String>> countByPlatform(@Param("userId") Long userId);
+
+    /**
+     * Counts a user's games per whole-star rating bucket; unrated games form the null bucket.
+     */
+    @Query("SELECT new com.gameshelf.dto.FacetCount(CAST(FLOOR(g.rating) AS Integer), COUNT(g)) FROM Game g "
+            + "WHERE g.user.id = :userId GROUP BY CAST(FLOOR(g.rating) AS Integer) "
+            + "ORDER BY CAST(FLOOR(g.rating) AS Integer) NULLS LAST")
+    List<FacetCount<Integer>> countByRating(@Param("userId") Long userId);
+
+    /**
+     * Counts a user's games per release year; undated games form the null bucket.
+     */
+    @Query("SELECT new com.gameshelf.dto.FacetCount(YEAR(g.releaseDate), COUNT(g)) FROM Game g "
+            + "WHERE g.user.id = :userId GROUP BY YEAR(g.releaseDate) ORDER BY YEAR(g.releaseDate) NULLS LAST")
+    List<FacetCount<Integer>> countByReleaseYear(@Param("userId") Long userId);
+
+    /**
+     * Streams the searchable text of every game, used to build the search index at startup.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.gameshelf.dto.GameSearchDocument(g.user.id, g.id, g.title, g.genre, g.platform, g.notes) "
+            + "FROM Game g WHERE g.user IS NOT NULL")
+    Stream<GameSearchDocument> streamSearchDocuments();
 }
@@ -0,0 +1,37 @@
+package com.gameshelf.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.gameshelf.dto.GameCursor;
+import com.gameshelf.dto.GameField;
+import com.gameshelf.dto.GameFields;
+
+/**
+ * Game queries whose select list is chosen at runtime, so columns a client
+ * did not ask for are never read from the database.
+ */
+public interface GameRepositoryCustom {
+
+    /**
+     * Returns one keyset page of a user's games in {@code (title, id)} order,
+     * selecting only the given fields.
+     *
+     * @param userId the owner of the games
+     * @param after position to continue from, or null for the first page
+     * @param fields the fields to select
+     * @param limit maximum number of games to return
+     * @return the selected fields of each game on the page
+     */
+    List<GameFields> findPageFields(Long userId, GameCursor after, List<GameField> fields, int limit);
+
+    /**
+     * Returns the given fields of one of a user's games.
+     *
+     * @param id the ID of the game
+     * @param userId the owner of the game
+     * @param fields the fields to select
+     * @return the selected fields, or empty if the user owns no game with this ID
+     */
+    Optional<GameFields> findFieldsById(Long id, Long userId, List<GameField> fields);
+}
@@ -0,0 +1,76 @@
+package com.gameshelf.repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.gameshelf.dto.GameCursor;
+import com.gameshelf.dto.GameField;
+import com.gameshelf.dto.GameFields;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Builds projection queries from a list of {@link GameField}s.
+ * The select list only ever contains enum-defined attribute names, never client input.
+ */
+class GameRepositoryCustomImpl implements GameRepositoryCustom {
+
+    // Title and id are always selected first because the keyset cursor is built from them
+    private static final String KEY_SELECT = "SELECT g.title, g.id";
+    private static final int FIRST_FIELD = 2;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<GameFields> findPageFields(Long userId, GameCursor after, List<GameField> fields, int limit) {
+        StringBuilder jpql = selectFrom(fields).append(" WHERE g.user.id = :userId");
+        if (after != null) {
+            jpql.append(" AND (g.title > :title OR (g.title = :title AND g.id > :id))");
+        }
+        jpql.append(" ORDER BY g.title, g.id");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class)
+            .setParameter("userId", userId)
+            .setMaxResults(limit);
+        if (after != null) {
+            query.setParameter("title", after.title()).setParameter("id", after.id());
+        }
+        return query.getResultList().stream().map(row -> toGameFields(row, fields)).toList();
+    }
+
+    @Override
+    public Optional<GameFields> findFieldsById(Long id, Long userId, List<GameField> fields) {
+        String jpql = selectFrom(fields).append(" WHERE g.id = :id AND g.user.id = :userId").toString();
+        return entityManager.createQuery(jpql, Tuple.class)
+            .setParameter("id", id)
+            .setParameter("userId", userId)
+            .setMaxResults(1)
+            .getResultList()
+            .stream()
+            .findFirst()
+            .map(row -> toGameFields(row, fields));
+    }
+
+    private static StringBuilder selectFrom(List<GameField> fields) {
+        StringBuilder jpql = new StringBuilder(KEY_SELECT);
+        for (GameField field : fields) {
+            jpql.append(", g.").append(field.getProperty());
+        }
+        return jpql.append(" FROM Game g");
+    }
+
+    private static GameFields toGameFields(Tuple row, List<GameField> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            values.put(fields.get(i).getProperty(), row.get(FIRST_FIELD + i));
+        }
+        GameCursor position = new GameCursor(row.get(0, String.class), row.get(1, Long.class));
+        return new GameFields(position, values);
+    }
+}
@@ -0,0 +1,28 @@
+package com.gameshelf.repository;
+
+import com.gameshelf.model.TokenRevocation;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    /**
+     * Returns the revocations recorded after the given sequence number, oldest first.
+     */
+    List<TokenRevocation> findBySeqGreaterThanOrderBySeq(long seq, Limit limit);
+
+    /**
+     * Deletes the revocations of tokens that expired before the cutoff.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") Instant cutoff);
+}
@@ -1,10 +1,58 @@
 package com.gameshelf.repository;
 
+import com.gameshelf.dto.ResourceVersion;
+import com.gameshelf.dto.UserIdentity;
 import com.gameshelf.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Finds the users holding any of the given usernames or emails, in one query.
+     */
+    @Query("SELECT new com.gameshelf.dto.UserIdentity(u.username, u.email) FROM User u "
+            + "WHERE u.username IN :usernames OR u.email IN :emails")
+    List<UserIdentity> findIdentities(@Param("usernames") Collection<String> usernames,
+            @Param("emails") Collection<String> emails);
+
+    /**
+     * Loads a user together with its roles in a single query, for authentication.
+     * The user's games are not loaded.
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.username = :username")
+    Optional<User> findWithRolesByUsername(@Param("username") String username);
+
+    /**
+     * Reads the version of a user's game library without touching the games table.
+     */
+    @Query("SELECT new com.gameshelf.dto.ResourceVersion(u.libraryVersion, u.libraryUpdatedAt) "
+            + "FROM User u WHERE u.id = :userId")
+    Optional<ResourceVersion> findLibraryVersion(@Param("userId") Long userId);
+
+    /**
+     * Marks a user's game library as changed. Must run in the transaction that made the change.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.libraryVersion = u.libraryVersion + 1, u.libraryUpdatedAt = :now "
+            + "WHERE u.id = :userId")
+    int bumpLibraryVersion(@Param("userId") Long userId, @Param("now") Instant now);
+
+    /**
+     * Replaces a user's stored password hash.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+}
@@ -0,0 +1,43 @@
+package com.gameshelf.security;
+
+import java.security.Principal;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.gameshelf.model.User;
+
+/**
+ * Immutable snapshot of the identity of an authenticated user, used as the principal
+ * of token-authenticated requests. Holds no entity state, so it can be cached and
+ * shared between requests safely.
+ *
+ * @param id the user's ID
+ * @param username the user's username
+ * @param authorities the authorities granted to the user
+ */
+public record AuthenticatedUser(Long id, String username, List<GrantedAuthority> authorities) implements Principal {
+
+    public AuthenticatedUser {
+        authorities = List.copyOf(authorities);
+    }
+
+    /**
+     * Takes a snapshot of a loaded user. The user's roles must be initialized.
+     *
+     * @param user the user to copy
+     * @return the snapshot
+     */
+    public static AuthenticatedUser from(User user) {
+        List<GrantedAuthority> authorities = user.getRoles().stream()
+            .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+            .toList();
+        return new AuthenticatedUser(user.getId(), user.getUsername(), authorities);
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,53 @@
+package com.gameshelf.security;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Picks the BCrypt cost that makes one password check take about a target time on
+ * this host. Each cost step doubles the work, so hashing a few times at a cheap cost
+ * is enough to extrapolate the cost closest to the target without overshooting it.
+ */
+public final class BCryptCostCalibrator {
+
+    private static final int PROBE_COST = 6;
+    private static final int PROBE_ROUNDS = 5;
+    private static final int MAX_BCRYPT_COST = 31;
+
+    private BCryptCostCalibrator() {
+    }
+
+    /**
+     * Measures this host and returns the highest cost whose check stays within the target.
+     *
+     * @param target the time one password check should take
+     * @param minCost the lowest cost to return, whatever the host's speed
+     * @param maxCost the highest cost to return
+     * @return the calibrated cost
+     */
+    public static int calibrate(Duration target, int minCost, int maxCost) {
+        byte[] password = new byte[16];
+        new SecureRandom().nextBytes(password);
+        String probe = Base64.getEncoder().encodeToString(password);
+        String salt = BCrypt.gensalt(PROBE_COST);
+
+        // The fastest of several rounds: the first ones include warm-up, later ones may be preempted
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw(probe, salt);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return costFor(target, Duration.ofNanos(fastest), minCost, maxCost);
+    }
+
+    static int costFor(Duration target, Duration probeDuration, int minCost, int maxCost) {
+        double ratio = (double) target.toNanos() / Math.max(1, probeDuration.toNanos());
+        int steps = ratio < 1 ? 0 : (int) Math.floor(Math.log(ratio) / Math.log(2));
+        int cost = PROBE_COST + steps;
+        return Math.max(minCost, Math.min(Math.min(maxCost, MAX_BCRYPT_COST), cost));
+    }
+}
@@ -1,31 +1,52 @@
 package com.gameshelf.security;
 
+import java.util.Optional;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.gameshelf.model.User;
 import com.gameshelf.repository.UserRepository;
+import com.gameshelf.service.UserChangedEvent;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Custom implementation of Spring Security's UserDetailsService.
  * This service is responsible for loading user-specific data and converting
  * application users into Spring Security's UserDetails objects.
+ * It also stores rehashed passwords when a login finds an outdated hash.
+ * Loading a user is timed as {@code security.principal.load}, tagged with whether it was found.
  */
 @Service
-@RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
     private static final Logger log = LoggerFactory.getLogger(CustomUserDetailsService.class);
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Meter.MeterProvider<Timer> principalLoads;
+
+    public CustomUserDetailsService(UserRepository userRepository, ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.principalLoads = Timer.builder("security.principal.load")
+            .description("Time to load a user and its roles for authentication")
+            .withRegistry(meterRegistry);
+    }
 
     /**
      * Loads a user by username and converts it to UserDetails.
      * This method is used by Spring Security during authentication.
+     * Only the user row and its roles are read; the game collection stays unloaded.
      *
      * @param username the username identifying the user whose data is required
      * @return UserDetails object containing the user's security information
@@ -35,9 +56,12 @@ public class CustomUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         log.debug("Loading user details for username: {}", username);
         
-        return userRepository.findByUsername(username)
+        Timer.Sample sample = Timer.start();
+        Optional<User> found = userRepository.findWithRolesByUsername(username);
+        sample.stop(principalLoads.withTag("result", found.isPresent() ? "found" : "not_found"));
+        return found
             .map(user -> {
-                log.debug("Found user: {}, password: {}", user.getUsername(), user.getPassword());
+                log.debug("Found user: {}", user.getUsername());
                 return user;
             })
             .orElseThrow(() -> {
@@ -45,4 +69,24 @@ public class CustomUserDetailsService implements UserDetailsService {
                 return new UsernameNotFoundException("User not found: " + username);
             });
     }
+
+    /**
+     * Stores a user's password rehashed with the current algorithm and cost.
+     * Spring Security calls this after a successful login whose stored hash is outdated.
+     *
+     * @param user the authenticated user
+     * @param newPassword the new hash, with its algorithm prefix
+     * @return the user with the new hash
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getUsername()));
+        log.info("Upgraded password hash of user: {}", user.getUsername());
+        if (user instanceof User entity) {
+            entity.setPassword(newPassword);
+            return entity;
+        }
+        return loadUserByUsername(user.getUsername());
+    }
 }
@@ -7,8 +7,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -22,6 +21,8 @@ import jakarta.servlet.http.HttpServletResponse;
  * JWT Authentication Filter for processing JWT tokens in HTTP requests.
  * This filter intercepts incoming requests, validates JWT tokens,
  * and sets up Spring Security authentication if the token is valid.
+ * The principal is an {@link AuthenticatedUser} taken from the {@link PrincipalCache},
+ * so the user is normally not read from the database.
  */
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
@@ -29,11 +30,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private static final Logger jwtAuthLogger = LoggerFactory.getLogger(JwtAuthFilter.class);
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
-    public JwtAuthFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthFilter(JwtUtil jwtUtil, PrincipalCache principalCache) {
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
     }
 
     /**
@@ -63,25 +64,22 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         try {
             final String token = authHeader.substring(7);
-            final String username = jwtUtil.extractUsername(token);
+            // Verifies signature and expiry once; an invalid token throws and is answered with 401
+            final String username = jwtUtil.verify(token).subject();
             jwtAuthLogger.debug("Extracted username from token: {}", username);
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                jwtAuthLogger.debug("Loaded user details for: {}", username);
+                AuthenticatedUser principal = principalCache.get(username);
+                jwtAuthLogger.debug("Resolved principal for: {}", username);
 
-                if (jwtUtil.validateToken(token, userDetails.getUsername())) {
-                    UsernamePasswordAuthenticationToken authToken = 
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    jwtAuthLogger.debug("Successfully authenticated user: {}", username);
-                } else {
-                    jwtAuthLogger.warn("Token validation failed for user: {}", username);
-                }
+                UsernamePasswordAuthenticationToken authToken = 
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
+                
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                jwtAuthLogger.debug("Successfully authenticated user: {}", username);
             }
-        } catch (IllegalArgumentException | io.jsonwebtoken.JwtException e) {
+        } catch (IllegalArgumentException | io.jsonwebtoken.JwtException | UsernameNotFoundException e) {
             jwtAuthLogger.error("Authentication error while processing token: ", e);
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return;
@@ -0,0 +1,58 @@
+package com.gameshelf.security;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+
+import lombok.Data;
+
+/**
+ * Keys used to sign and verify JWTs, bound from {@code app.security.jwt.*}.
+ * When no keys are configured, tokens are signed with the HMAC secret in {@code jwt.key}.
+ */
+@Data
+@ConfigurationProperties("app.security.jwt")
+public class JwtKeyProperties {
+
+    /**
+     * Id of the key new tokens are signed with; defaults to the last configured key.
+     */
+    private String signingKeyId;
+
+    /**
+     * Every key tokens may be verified with, including keys that no longer sign.
+     */
+    private List<Key> keys = new ArrayList<>();
+
+    @Data
+    public static class Key {
+
+        /**
+         * Key id, written to the {@code kid} header of tokens signed with this key.
+         */
+        private String id;
+
+        private Algorithm algorithm = Algorithm.HS256;
+
+        /**
+         * Shared secret of an HMAC key, at least 32 bytes.
+         */
+        private String secret;
+
+        /**
+         * PEM encoded PKCS#8 private key of an ES256 or EdDSA key; not needed on nodes that only verify.
+         */
+        private Resource privateKey;
+
+        /**
+         * PEM encoded X.509 public key of an ES256 or EdDSA key.
+         */
+        private Resource publicKey;
+    }
+
+    public enum Algorithm {
+        HS256, ES256, EDDSA
+    }
+}
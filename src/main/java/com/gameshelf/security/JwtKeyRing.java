@@ -0,0 +1,188 @@
+package com.gameshelf.security;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import com.gameshelf.security.JwtKeyProperties.Algorithm;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+
+/**
+ * The keys JWTs are signed and verified with. New tokens are signed with one key and
+ * carry its id in the {@code kid} header; any key in the ring verifies the tokens it
+ * signed, so a key can be rotated out without invalidating sessions: add the new key,
+ * make it the signing key, and remove the old one once its last tokens have expired.
+ * Tokens without a {@code kid}, issued before key ids were introduced, are verified
+ * with the key whose id is {@value #LEGACY_KEY_ID}.
+ *
+ * <p>Public halves of ES256 and EdDSA keys are published as a JSON Web Key Set, so
+ * other services can verify tokens without calling back. HMAC secrets never are.
+ */
+@Component
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    public static final String LEGACY_KEY_ID = "default";
+    private static final String DEVELOPMENT_SECRET = "defaultSecretKeyForDevelopmentEnvironmentOnly123!@#";
+
+    private final Map<String, JwtKey> keys = new LinkedHashMap<>();
+    private final JwtKey signingKey;
+    private final List<Map<String, Object>> publicJwks;
+
+    public JwtKeyRing(JwtKeyProperties properties, @Value("${jwt.key:}") String legacySecret) {
+        if (properties.getKeys().isEmpty()) {
+            if (legacySecret.isEmpty() || legacySecret.equals(DEVELOPMENT_SECRET)) {
+                legacySecret = DEVELOPMENT_SECRET;
+                log.warn("Using default JWT secret. Set JWT_SECRET environment variable in production!");
+            }
+            add(new JwtKey(LEGACY_KEY_ID, Algorithm.HS256, hmacKey(legacySecret), hmacKey(legacySecret)));
+        }
+        for (JwtKeyProperties.Key key : properties.getKeys()) {
+            add(load(key));
+        }
+
+        String signingKeyId = properties.getSigningKeyId() != null
+            ? properties.getSigningKeyId()
+            : new ArrayList<>(keys.keySet()).get(keys.size() - 1);
+        this.signingKey = keys.get(signingKeyId);
+        if (signingKey == null || signingKey.signingKey() == null) {
+            throw new IllegalStateException("JWT signing key '" + signingKeyId + "' is not configured with a private key or secret");
+        }
+
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        for (JwtKey key : keys.values()) {
+            if (key.verificationKey() instanceof PublicKey publicKey) {
+                jwks.add(new LinkedHashMap<>(Jwks.builder().key(publicKey)
+                    .id(key.id())
+                    .algorithm(key.algorithm() == Algorithm.ES256 ? "ES256" : "EdDSA")
+                    .publicKeyUse("sig")
+                    .build()));
+            }
+        }
+        this.publicJwks = Collections.unmodifiableList(jwks);
+        log.info("Loaded JWT keys {}, signing with '{}'", keys.keySet(), signingKeyId);
+    }
+
+    /**
+     * The key new tokens are signed with.
+     *
+     * @return the current signing key
+     */
+    public JwtKey signingKey() {
+        return signingKey;
+    }
+
+    /**
+     * Public keys of the ring as JSON Web Keys, for the JWK Set endpoint.
+     *
+     * @return the public asymmetric keys; empty if tokens are signed with HMAC only
+     */
+    public List<Map<String, Object>> publicJwks() {
+        return publicJwks;
+    }
+
+    /**
+     * Selects the verification key named by a token's {@code kid} header.
+     */
+    @Override
+    protected Key locate(JwsHeader header) {
+        String keyId = header.getKeyId() != null ? header.getKeyId() : LEGACY_KEY_ID;
+        JwtKey key = keys.get(keyId);
+        if (key == null) {
+            throw new SecurityException("Unknown JWT key id: " + keyId);
+        }
+        return key.verificationKey();
+    }
+
+    private void add(JwtKey key) {
+        if (keys.putIfAbsent(key.id(), key) != null) {
+            throw new IllegalStateException("Duplicate JWT key id: " + key.id());
+        }
+    }
+
+    private static JwtKey load(JwtKeyProperties.Key key) {
+        if (key.getId() == null || key.getId().isBlank()) {
+            throw new IllegalStateException("Every JWT key needs an id");
+        }
+        if (key.getAlgorithm() == Algorithm.HS256) {
+            if (key.getSecret() == null) {
+                throw new IllegalStateException("HMAC JWT key '" + key.getId() + "' has no secret");
+            }
+            return new JwtKey(key.getId(), Algorithm.HS256, hmacKey(key.getSecret()), hmacKey(key.getSecret()));
+        }
+
+        if (key.getPublicKey() == null) {
+            if (key.getPrivateKey() != null) {
+                throw new IllegalStateException("JWT key '" + key.getId() + "' has a private key but no public key");
+            }
+            // Development convenience: tokens signed with a generated key cannot be verified by other nodes or after a restart
+            KeyPair pair = key.getAlgorithm() == Algorithm.ES256
+                ? Jwts.SIG.ES256.keyPair().build()
+                : Jwts.SIG.EdDSA.keyPair().build();
+            log.warn("Generated temporary {} key pair for JWT key '{}'. Configure its key files in production!",
+                key.getAlgorithm(), key.getId());
+            return new JwtKey(key.getId(), key.getAlgorithm(), pair.getPrivate(), pair.getPublic());
+        }
+
+        String keyAlgorithm = key.getAlgorithm() == Algorithm.ES256 ? "EC" : "Ed25519";
+        try {
+            KeyFactory factory = KeyFactory.getInstance(keyAlgorithm);
+            PublicKey publicKey = factory.generatePublic(new X509EncodedKeySpec(readPem(key.getPublicKey())));
+            PrivateKey privateKey = key.getPrivateKey() == null
+                ? null
+                : factory.generatePrivate(new PKCS8EncodedKeySpec(readPem(key.getPrivateKey())));
+            return new JwtKey(key.getId(), key.getAlgorithm(), privateKey, publicKey);
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("Cannot load JWT key '" + key.getId() + "': " + e.getMessage(), e);
+        }
+    }
+
+    private static Key hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] readPem(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            String pem = new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+            return Base64.getMimeDecoder().decode(pem.replaceAll("-----[A-Z ]+-----", ""));
+        }
+    }
+
+    /**
+     * One key of the ring.
+     *
+     * @param id the key id written to the {@code kid} header
+     * @param algorithm the signature algorithm
+     * @param signingKey the secret or private key, or null if this node only verifies with the key
+     * @param verificationKey the secret or public key
+     */
+    public record JwtKey(String id, Algorithm algorithm, Key signingKey, Key verificationKey) {
+    }
+}
@@ -1,55 +1,78 @@
 package com.gameshelf.security;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
-
-import javax.crypto.SecretKey;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.MissingClaimException;
 import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 /**
  * Utility class for handling JWT (JSON Web Token) operations.
  * Provides functionality for generating, validating, and parsing JWTs used for authentication.
+ * Tokens are signed with the current key of the {@link JwtKeyRing} and verified with the
+ * key their {@code kid} header names. Tokens are verified once with a shared parser; verified tokens are remembered until they
+ * expire, keyed by a SHA-256 digest of the token, so repeated requests skip the signature check.
+ * Verifications are timed as {@code jwt.verification}, tagged with whether the cache answered
+ * and with the outcome, which for rejected tokens is the reason.
  */
 @Component
 public class JwtUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
 
-    private final SecretKey secretKey;
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
     private final long expirationTime;
-    private final Set<String> blacklistedTokens = ConcurrentHashMap.newKeySet();
-
-    public JwtUtil(@Value("${jwt.expiration}") long expirationTime) {
-        String secret = System.getenv("JWT_SECRET");
-
-        if (secret == null || secret.isEmpty()) {
-            // Use a default secret for development only
-            secret = "defaultSecretKeyForDevelopmentEnvironmentOnly123!@#";
-            // Log a warning
-            logger.warn("Using default JWT secret. Set JWT_SECRET environment variable in production!");
+    private final TokenRevocationStore revocationStore;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    private final Meter.MeterProvider<Timer> verifications;
 
-        }
-
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    public JwtUtil(@Value("${jwt.expiration}") long expirationTime, JwtKeyRing keyRing,
+            TokenRevocationStore revocationStore, MeterRegistry meterRegistry,
+            @Value("${app.security.jwt.verified-cache.maximum-size:10000}") long verifiedCacheSize) {
+        this.keyRing = keyRing;
+        // Parsers are immutable and thread-safe, so one instance serves every request; the key follows the token's kid
+        this.parser = Jwts.parser().keyLocator(keyRing).build();
         this.expirationTime = expirationTime;
+        this.revocationStore = revocationStore;
+        this.verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(verifiedCacheSize)
+            .expireAfter(new UntilTokenExpiry())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verifiedTokens");
+        this.verifications = Timer.builder("jwt.verification")
+            .description("Time to verify a bearer token, by cache use and outcome")
+            .withRegistry(meterRegistry);
     }
 
     /**
@@ -77,15 +100,78 @@ public class JwtUtil {
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
+        JwtKeyRing.JwtKey signingKey = keyRing.signingKey();
         return Jwts.builder()
+                .header().keyId(signingKey.id()).and()
+                .id(UUID.randomUUID().toString())
                 .claims(claims)
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(secretKey)
+                .signWith(signingKey.signingKey())
                 .compact();
     }
 
+    /**
+     * Verifies a JWT token and returns its claims.
+     * The signature is checked at most once per token: a token verified before is
+     * served from the cache until it expires.
+     * 
+     * @param token the JWT token to verify
+     * @return the verified claims
+     * @throws JwtException if the token is invalid, expired or revoked
+     */
+    public VerifiedToken verify(String token) {
+        long start = System.nanoTime();
+        boolean cached = false;
+        String outcome = null;
+        try {
+            if (token == null || token.isEmpty()) {
+                throw new IllegalArgumentException("JWT token is empty");
+            }
+            String digest = digest(token);
+            VerifiedToken verified = verifiedTokens.getIfPresent(digest);
+            cached = verified != null;
+            if (verified == null) {
+                verified = toVerifiedToken(extractAllClaims(token));
+                verifiedTokens.put(digest, verified);
+            }
+            // The cache drops entries at expiry, but an entry may still be read in the same instant
+            if (verified.isExpiredAt(Instant.now())) {
+                throw new ExpiredJwtException(null, null, "JWT token is expired");
+            }
+            if (revocationStore.isRevoked(verified.id())) {
+                outcome = "revoked";
+                throw new JwtException("JWT token has been revoked");
+            }
+            outcome = "success";
+            return verified;
+        } catch (RuntimeException e) {
+            if (outcome == null) {
+                outcome = failureReason(e);
+            }
+            throw e;
+        } finally {
+            verifications.withTags("cache", cached ? "hit" : "miss", "outcome", outcome)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String failureReason(RuntimeException e) {
+        if (e instanceof ExpiredJwtException) {
+            return "expired";
+        } else if (e instanceof SecurityException) {
+            return "invalid_signature";
+        } else if (e instanceof MalformedJwtException) {
+            return "malformed";
+        } else if (e instanceof UnsupportedJwtException) {
+            return "unsupported";
+        } else if (e instanceof IllegalArgumentException) {
+            return "empty";
+        }
+        return "invalid";
+    }
+
     /**
      * Extracts the username from a JWT token.
      * 
@@ -94,25 +180,23 @@ public class JwtUtil {
      * @throws JwtException if the token is invalid or expired
      */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
+    /**
+     * Extracts the expiration time from a JWT token.
+     *
+     * @param token the JWT token to verify
+     * @return the time the token expires
+     * @throws JwtException if the token is invalid, expired or revoked
+     */
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return Date.from(verify(token).expiresAt());
     }
 
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
             logger.error("JWT token is expired: {}", e.getMessage());
             throw e;
@@ -142,13 +226,12 @@ public class JwtUtil {
      * @return true if the token is valid for the user, false otherwise
      */
     public boolean validateToken(String token, String username) {
-        if (token == null || username == null || blacklistedTokens.contains(token)) {
+        if (token == null || username == null) {
             return false;
         }
 
         try {
-            final String extractedUsername = extractUsername(token);
-            return (extractedUsername.equals(username) && !isTokenExpired(token));
+            return verify(token).subject().equals(username);
         } catch (ExpiredJwtException e) {
             logger.error("JWT token is expired: {}", e.getMessage());
             return false;
@@ -164,51 +247,27 @@ public class JwtUtil {
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
             return false;
+        } catch (JwtException e) {
+            logger.error("JWT token rejected: {}", e.getMessage());
+            return false;
         }
     }
 
-    /**
-     * Adds a token to the blacklist to prevent its future use.
-     * 
-     * @param token the JWT token to blacklist
-     */
-    public void blacklistToken(String token) {
-        blacklistedTokens.add(token);
-        // Remove expired tokens from blacklist periodically
-        cleanupBlacklist();
-    }
-
-    private void cleanupBlacklist() {
-        blacklistedTokens.removeIf(token -> {
-            try {
-                return isTokenExpired(token);
-            } catch (Exception e) {
-                return true;
-            }
-        });
-    }
-
     /**
      * Extracts user roles from a JWT token.
      * 
-     * @param token the JWT token to parse
-     * @return list of role strings from the token
+     * @param token the JWT token to verify
+     * @return list of role strings from the token, empty if the token is invalid, expired or revoked
      */
-    @SuppressWarnings("unchecked")
     public List<String> extractRoles(String token) {
         try {
-            Claims claims = extractAllClaims(token);
-            return (List<String>) claims.get("roles");
+            return verify(token).roles();
         } catch (Exception e) {
             logger.error("Error extracting roles from token: {}", e.getMessage());
             return List.of();
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
     public String refreshToken(String oldToken) {
         String username = extractUsername(oldToken);
         return generateToken(username);
@@ -217,4 +276,52 @@ public class JwtUtil {
     public long getExpirationTime() {
         return expirationTime;
     }
+
+    @SuppressWarnings("unchecked")
+    private static VerifiedToken toVerifiedToken(Claims claims) {
+        // Tokens signed with an externally configured key may omit these; reject them rather than fail later
+        Instant issuedAt = requiredInstant(claims, Claims.ISSUED_AT, claims.getIssuedAt());
+        Instant expiresAt = requiredInstant(claims, Claims.EXPIRATION, claims.getExpiration());
+        Object roles = claims.get("roles");
+        return new VerifiedToken(claims.getId(), claims.getSubject(), issuedAt, expiresAt,
+            roles instanceof List<?> list ? (List<String>) list : List.of());
+    }
+
+    private static Instant requiredInstant(Claims claims, String name, Date value) {
+        if (value == null) {
+            throw new MissingClaimException(null, claims, name, null, "JWT token has no " + name + " claim");
+        }
+        return value.toInstant();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Keeps each verified token exactly until its own expiry time.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long millis = value.expiresAt().toEpochMilli() - System.currentTimeMillis();
+            return Math.max(0, millis) * 1_000_000;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,120 @@
+package com.gameshelf.security;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.gameshelf.exception.TooManyLoginAttemptsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Rate limit for login attempts, applied before the password is checked, so credential
+ * stuffing cannot make every guess cost a BCrypt verification. Attempts are limited per
+ * username or email and per client address, each with its own token bucket.
+ *
+ * <p>A bucket is a single {@link AtomicLong} updated by compare-and-set, following the
+ * generic cell rate algorithm: it holds the time at which the bucket will be full again,
+ * and an attempt is allowed while that time lies less than a full bucket ahead. Buckets
+ * live in size-bounded caches sharded across many locks, and a bucket idle long enough
+ * to have refilled is evicted, since a fresh bucket behaves the same.
+ */
+@Component
+public class LoginThrottle {
+
+    private final Limiter identifiers;
+    private final Limiter addresses;
+    private final boolean enabled;
+
+    @Autowired
+    public LoginThrottle(MeterRegistry meterRegistry,
+            @Value("${app.security.login-throttle.enabled:true}") boolean enabled,
+            @Value("${app.security.login-throttle.identifier.capacity:5}") int identifierCapacity,
+            @Value("${app.security.login-throttle.identifier.refill-interval:12s}") Duration identifierRefill,
+            @Value("${app.security.login-throttle.address.capacity:20}") int addressCapacity,
+            @Value("${app.security.login-throttle.address.refill-interval:3s}") Duration addressRefill,
+            @Value("${app.security.login-throttle.max-entries:100000}") long maxEntries) {
+        this(meterRegistry, enabled, identifierCapacity, identifierRefill, addressCapacity, addressRefill,
+            maxEntries, System::nanoTime);
+    }
+
+    LoginThrottle(MeterRegistry meterRegistry, boolean enabled, int identifierCapacity, Duration identifierRefill,
+            int addressCapacity, Duration addressRefill, long maxEntries, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.identifiers = new Limiter(identifierCapacity, identifierRefill, maxEntries, nanoClock,
+            throttledCounter(meterRegistry, "identifier"));
+        this.addresses = new Limiter(addressCapacity, addressRefill, maxEntries, nanoClock,
+            throttledCounter(meterRegistry, "address"));
+    }
+
+    /**
+     * Records a login attempt, refusing it if either its username or its address is over the limit.
+     *
+     * @param identifier the username or email the client is logging in with
+     * @param remoteAddress the client's address
+     * @throws TooManyLoginAttemptsException if the attempt must be refused
+     */
+    public void check(String identifier, String remoteAddress) {
+        if (!enabled) {
+            return;
+        }
+        // The address bucket goes first: a client cycling through usernames then never touches their buckets
+        addresses.acquire(remoteAddress == null ? "" : remoteAddress);
+        identifiers.acquire(identifier == null ? "" : identifier.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, String key) {
+        return Counter.builder("login.throttled")
+            .description("Login attempts refused by the rate limit before the password check")
+            .tag("key", key)
+            .register(meterRegistry);
+    }
+
+    private static final class Limiter {
+
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final LongSupplier nanoClock;
+        private final Counter throttled;
+        private final Cache<String, AtomicLong> buckets;
+
+        Limiter(int capacity, Duration refillInterval, long maxEntries, LongSupplier nanoClock, Counter throttled) {
+            if (capacity < 1 || refillInterval.isNegative() || refillInterval.isZero()) {
+                throw new IllegalArgumentException("Login throttle needs a capacity of at least 1 and a positive refill interval");
+            }
+            this.intervalNanos = refillInterval.toNanos();
+            this.toleranceNanos = intervalNanos * capacity;
+            this.nanoClock = nanoClock;
+            this.throttled = throttled;
+            this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(Duration.ofNanos(toleranceNanos))
+                .build();
+        }
+
+        void acquire(String key) {
+            long now = nanoClock.getAsLong();
+            AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(now));
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, now) + intervalNanos;
+                long wait = next - toleranceNanos - now;
+                if (wait > 0) {
+                    throttled.increment();
+                    throw new TooManyLoginAttemptsException(Duration.ofNanos(wait));
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.gameshelf.security;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.gameshelf.exception.HashingCapacityExceededException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Executor for work dominated by password hashing: logins, registrations and bulk user provisioning.
+ * BCrypt is deliberately CPU-bound, so running it on the request threads lets a login
+ * burst take every thread the game API needs. Here it runs on a fixed number of threads
+ * with a bounded queue; once the queue is full further work is refused at once with
+ * {@link HashingCapacityExceededException} instead of piling up.
+ *
+ * <p>Metrics are published under the executor name {@code passwordHashing}: queue depth
+ * ({@code executor.queued}), time waiting in the queue ({@code executor.idle}) and task
+ * latency ({@code executor}), plus {@code password.hashing.rejected} for refused work.
+ */
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    private final ExecutorService executor;
+    private final Counter rejected;
+    private final Duration retryAfter;
+    private final int threads;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+            @Value("${app.security.password-hashing.threads:0}") int threads,
+            @Value("${app.security.password-hashing.queue-capacity:100}") int queueCapacity,
+            @Value("${app.security.password-hashing.retry-after:1s}") Duration retryAfter) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "passwordHashing");
+        this.rejected = Counter.builder("password.hashing.rejected")
+            .description("Password hashing tasks refused because the queue was full")
+            .register(meterRegistry);
+        this.retryAfter = retryAfter;
+        this.threads = poolSize;
+        log.info("Password hashing executor with {} threads and a queue of {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Runs a task on the hashing threads, with the caller's logging context.
+     *
+     * @param task the task, typically an authentication or a password encoding
+     * @return a future completing with the task's result
+     * @throws HashingCapacityExceededException if the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return CompletableFuture.supplyAsync(() -> {
+                if (context != null) {
+                    MDC.setContextMap(context);
+                }
+                try {
+                    return task.get();
+                } finally {
+                    MDC.clear();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new HashingCapacityExceededException(retryAfter);
+        }
+    }
+
+    /**
+     * Returns the number of hashing threads.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
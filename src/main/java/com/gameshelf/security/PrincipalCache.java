@@ -0,0 +1,90 @@
+package com.gameshelf.security;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.gameshelf.model.User;
+import com.gameshelf.repository.UserRepository;
+import com.gameshelf.service.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache of authenticated principals by username, so resolving the user of a
+ * token-authenticated request normally costs no query.
+ * Entries expire after a short time and are dropped as soon as the user's password
+ * or roles change or the user is deleted on this node. Changes made on another
+ * node are picked up when the entry expires.
+ * Loads on a miss are timed as {@code security.principal.load}, as logins are,
+ * tagged with whether the user was found.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> principals;
+    private final Meter.MeterProvider<Timer> principalLoads;
+
+    public PrincipalCache(UserRepository userRepository, MeterRegistry meterRegistry,
+            @Value("${app.security.principal-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.security.principal-cache.ttl:60s}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "principals");
+        this.principalLoads = Timer.builder("security.principal.load")
+            .description("Time to load a user and its roles for authentication")
+            .withRegistry(meterRegistry);
+    }
+
+    /**
+     * Returns the principal of the given user, loading it on a miss.
+     *
+     * @param username the username taken from a verified token
+     * @return the principal
+     * @throws UsernameNotFoundException if no such user exists
+     */
+    public AuthenticatedUser get(String username) {
+        return principals.get(username, this::load);
+    }
+
+    /**
+     * Drops the cached principal of a user.
+     *
+     * @param username the username of the user
+     */
+    public void evict(String username) {
+        principals.invalidate(username);
+    }
+
+    /**
+     * Drops the cached principal of a user whose password or roles changed.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.username());
+    }
+
+    private AuthenticatedUser load(String username) {
+        Timer.Sample sample = Timer.start();
+        Optional<User> found = userRepository.findWithRolesByUsername(username);
+        sample.stop(principalLoads.withTag("result", found.isPresent() ? "found" : "not_found"));
+        User user = found.orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        return AuthenticatedUser.from(user);
+    }
+}
@@ -0,0 +1,192 @@
+package com.gameshelf.security;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Revoked tokens, identified by their {@code jti} claim, kept until the tokens expire.
+ *
+ * <p>Lookups never block: a Bloom filter answers the common case of a token that was
+ * never revoked, and only probable hits go on to the map of revoked ids. Expiry is
+ * scheduled in a hierarchical timing wheel with one-second ticks: level 0 has one slot
+ * per second, each higher level one slot per full turn of the level below. A background
+ * tick empties the slot that is due and moves entries of coarser slots down a level as
+ * their time approaches, so dropping an expired revocation costs O(1) amortized and never
+ * re-reads the token. The Bloom filter cannot forget entries, so it is rebuilt from the
+ * map once enough revocations expired.
+ *
+ * <p>This store is the node-local view; {@code TokenRevocationService} persists revocations
+ * and replicates them between nodes.
+ */
+@Component
+public class TokenRevocationStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationStore.class);
+
+    static final long TICK_MILLIS = 1000;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    // 64^5 seconds, about 34 years; revocations of tokens living longer are never dropped
+    private static final int LEVELS = 5;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final List<List<ArrayDeque<Revocation>>> wheel = new ArrayList<>(LEVELS);
+    private final int minimumFilterCapacity;
+    private volatile BloomFilter filter;
+    private long currentTick;
+    private int expiredSinceRebuild;
+
+    public TokenRevocationStore(
+            @Value("${app.security.revocation.bloom-filter.expected-insertions:100000}") int expectedInsertions) {
+        this.minimumFilterCapacity = expectedInsertions;
+        this.filter = new BloomFilter(expectedInsertions, FALSE_POSITIVE_RATE);
+        for (int level = 0; level < LEVELS; level++) {
+            List<ArrayDeque<Revocation>> slots = new ArrayList<>(SLOTS);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                slots.add(new ArrayDeque<>());
+            }
+            wheel.add(slots);
+        }
+        currentTick = toTick(System.currentTimeMillis());
+    }
+
+    /**
+     * Revokes a token until it expires. Revoking a token twice has no further effect.
+     *
+     * @param tokenId the token's {@code jti} claim
+     * @param expiresAt when the token expires
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        // Round up, so a revocation never ends before the token does
+        long deadline = toTick(expiresAt.toEpochMilli() + TICK_MILLIS - 1);
+        // Revocations are rare; writing under one lock keeps the filter and map consistent during rebuilds
+        synchronized (wheel) {
+            if (deadline <= currentTick || revoked.putIfAbsent(tokenId, deadline) != null) {
+                return;
+            }
+            filter.put(tokenId);
+            schedule(new Revocation(tokenId, deadline));
+            if (revoked.size() > filter.capacity()) {
+                rebuildFilter();
+            }
+        }
+    }
+
+    /**
+     * Checks whether a token has been revoked.
+     *
+     * @param tokenId the token's {@code jti} claim, or null for tokens issued without one
+     * @return true if the token must be rejected
+     */
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && filter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Number of revocations currently held.
+     *
+     * @return the number of revoked, not yet expired tokens
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Advances the wheel to the current time, dropping revocations of expired tokens.
+     */
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void tick() {
+        advanceTo(System.currentTimeMillis());
+    }
+
+    void advanceTo(long nowMillis) {
+        long target = toTick(nowMillis);
+        int expired = 0;
+        synchronized (wheel) {
+            while (currentTick < target) {
+                currentTick++;
+                cascade();
+                ArrayDeque<Revocation> due = wheel.get(0).get((int) (currentTick & SLOT_MASK));
+                for (Revocation revocation = due.poll(); revocation != null; revocation = due.poll()) {
+                    revoked.remove(revocation.tokenId());
+                    expired++;
+                }
+            }
+            expiredSinceRebuild += expired;
+            if (expiredSinceRebuild > filter.capacity() / 2) {
+                rebuildFilter();
+            }
+        }
+        if (expired > 0) {
+            log.debug("Dropped {} expired token revocations, {} remain", expired, revoked.size());
+        }
+    }
+
+    /**
+     * When the current tick starts a new turn of a level, moves the entries of that level's
+     * now-current slot down to finer levels.
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                return;
+            }
+            ArrayDeque<Revocation> slot = wheel.get(level).get(slotIndex(currentTick, level));
+            List<Revocation> moved = new ArrayList<>(slot);
+            slot.clear();
+            moved.forEach(this::schedule);
+        }
+    }
+
+    private void schedule(Revocation revocation) {
+        long deadline = revocation.deadlineTick();
+        if (deadline <= currentTick) {
+            revoked.remove(revocation.tokenId());
+            return;
+        }
+        // The finest level whose next-coarser window contains both now and the deadline
+        for (int level = 0; level < LEVELS; level++) {
+            int coarserShift = SLOT_BITS * (level + 1);
+            if ((deadline >>> coarserShift) == (currentTick >>> coarserShift)) {
+                wheel.get(level).get(slotIndex(deadline, level)).add(revocation);
+                return;
+            }
+        }
+        log.warn("Token revocation expiring beyond the timing wheel horizon is kept until restart");
+    }
+
+    /**
+     * Replaces the Bloom filter with one holding only the current revocations, sized
+     * with room to grow. Must be called while holding the wheel lock.
+     */
+    private void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(minimumFilterCapacity, revoked.size() * 2), FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        expiredSinceRebuild = 0;
+        log.debug("Rebuilt token revocation filter for {} revocations", revoked.size());
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    private static long toTick(long epochMillis) {
+        return epochMillis / TICK_MILLIS;
+    }
+
+    private record Revocation(String tokenId, long deadlineTick) {
+    }
+}
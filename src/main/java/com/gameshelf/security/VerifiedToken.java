@@ -0,0 +1,30 @@
+package com.gameshelf.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The claims of a JWT whose signature and expiry have been verified.
+ *
+ * @param id the token's unique {@code jti} claim, or null for tokens issued without one
+ * @param subject the username the token was issued to
+ * @param issuedAt when the token was issued
+ * @param expiresAt when the token expires
+ * @param roles the roles claim, empty if the token carries none
+ */
+public record VerifiedToken(String id, String subject, Instant issuedAt, Instant expiresAt, List<String> roles) {
+
+    public VerifiedToken {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    /**
+     * Checks whether the token has expired at the given time.
+     *
+     * @param now the time to check against
+     * @return true if the token is no longer valid at {@code now}
+     */
+    public boolean isExpiredAt(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -3,6 +3,8 @@ package com.gameshelf.service;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -15,6 +17,7 @@ import com.gameshelf.repository.UserRepository;
  */
 @Service
 public class AuthService {
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     
@@ -80,7 +83,6 @@ public class AuthService {
      */
     public boolean authenticateUser(String identifier, String password) {
         if (identifier == null || password == null) {
-            System.out.println("Debug: Null identifier or password");
             return false;
         }
 
@@ -94,14 +96,11 @@ public class AuthService {
 
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            System.out.println("Debug: Found user: " + user.getUsername());
-            System.out.println("Debug: Stored encoded password: " + user.getPassword());
-            System.out.println("Debug: Attempting to match with provided password: " + password);
             boolean matches = passwordEncoder.matches(password, user.getPassword());
-            System.out.println("Debug: Password match result: " + matches);
+            log.debug("Password check for user {}: {}", user.getUsername(), matches ? "match" : "mismatch");
             return matches;
         }
-        System.out.println("Debug: User not found");
+        log.debug("No user found for identifier: {}", trimmedIdentifier);
         return false;
     }
 
@@ -118,7 +117,12 @@ public class AuthService {
         return userRepository.findByUsername(username.trim()).isPresent();
     }
 
-    private void validateRegistrationInput(String username, String email, String password) {
+    /**
+     * Checks the registration input, naming the first problem found.
+     *
+     * @throws IllegalArgumentException if any field is invalid
+     */
+    void validateRegistrationInput(String username, String email, String password) {
         if (!validateUsername(username)) {
             throw new IllegalArgumentException("Invalid username format: must be 3-20 characters, alphanumeric with - and _");
         }
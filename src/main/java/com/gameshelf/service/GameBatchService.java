@@ -0,0 +1,155 @@
+package com.gameshelf.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gameshelf.dto.BatchItemResult;
+import com.gameshelf.model.Game;
+import com.gameshelf.repository.GameRepository;
+import com.gameshelf.repository.UserRepository;
+import com.gameshelf.security.AuthenticatedUser;
+
+/**
+ * Service that imports many games for one user at once.
+ * Games are written in chunks, one transaction per chunk, and each chunk is
+ * flushed as JDBC batches. Every entry gets its own result so a client can
+ * tell exactly which games were created and which were rejected.
+ */
+@Service
+public class GameBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameBatchService.class);
+
+    private final GameRepository gameRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public GameBatchService(GameRepository gameRepository, UserRepository userRepository,
+            TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+            @Value("${app.games.batch.chunk-size:500}") int chunkSize) {
+        this.gameRepository = gameRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Adds the given games to the user's collection.
+     * Entries with missing required fields are reported as {@code INVALID}; entries whose
+     * title the user already owns, or that repeat a title earlier in the request, are
+     * reported as {@code CONFLICT}.
+     *
+     * @param games the games to add, in request order
+     * @param user the owner of the new games
+     * @return one result per requested game, in request order
+     */
+    public List<BatchItemResult> addGames(List<Game> games, AuthenticatedUser user) {
+        BatchItemResult[] results = new BatchItemResult[games.size()];
+        Set<String> requestTitles = new HashSet<>();
+
+        for (int start = 0; start < games.size(); start += chunkSize) {
+            int end = Math.min(start + chunkSize, games.size());
+            List<Integer> accepted = new ArrayList<>(end - start);
+
+            for (int i = start; i < end; i++) {
+                Game game = games.get(i);
+                if (game == null || game.getTitle() == null || game.getGenre() == null || game.getPlatform() == null) {
+                    results[i] = BatchItemResult.rejected(i, BatchItemResult.Status.INVALID, "Required game fields missing");
+                } else if (!requestTitles.add(game.getTitle())) {
+                    results[i] = BatchItemResult.rejected(i, BatchItemResult.Status.CONFLICT, "Duplicate title in request");
+                } else {
+                    accepted.add(i);
+                }
+            }
+            if (!accepted.isEmpty()) {
+                insertChunk(games, accepted, user, results);
+            }
+        }
+
+        log.info("Batch import for user: {} finished, {} of {} games created", user.username(),
+            Arrays.stream(results).filter(r -> r.getStatus() == BatchItemResult.Status.CREATED).count(), games.size());
+        return Arrays.asList(results);
+    }
+
+    private void insertChunk(List<Game> games, List<Integer> accepted, AuthenticatedUser user, BatchItemResult[] results) {
+        List<String> titles = accepted.stream().map(i -> games.get(i).getTitle()).toList();
+        Set<String> existing = gameRepository.findExistingTitles(user.id(), titles);
+
+        List<Integer> toInsert = new ArrayList<>(accepted.size());
+        for (Integer i : accepted) {
+            if (existing.contains(games.get(i).getTitle())) {
+                results[i] = BatchItemResult.rejected(i, BatchItemResult.Status.CONFLICT, "Game already in collection");
+            } else {
+                toInsert.add(i);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Game> saved = transactionTemplate.execute(status -> {
+                List<Game> written = new ArrayList<>(toInsert.size());
+                for (Integer i : toInsert) {
+                    written.add(persist(games.get(i), user));
+                }
+                // Inserts are queued until here and sent as JDBC batches of hibernate.jdbc.batch_size
+                gameRepository.flush();
+                userRepository.bumpLibraryVersion(user.id(), Instant.now());
+                written.forEach(game -> eventPublisher.publishEvent(GameChangedEvent.saved(user.id(), game)));
+                return written;
+            });
+            for (int k = 0; k < toInsert.size(); k++) {
+                results[toInsert.get(k)] = BatchItemResult.created(toInsert.get(k), saved.get(k).getId());
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Another request inserted one of these titles after our check; retry one by one to find it
+            log.debug("Chunk insert for user: {} hit a constraint, retrying entries individually", user.username());
+            for (Integer i : toInsert) {
+                insertSingle(games.get(i), i, user, results);
+            }
+        }
+    }
+
+    private void insertSingle(Game game, int index, AuthenticatedUser user, BatchItemResult[] results) {
+        try {
+            Game saved = transactionTemplate.execute(status -> {
+                Game written = persist(game, user);
+                gameRepository.flush();
+                userRepository.bumpLibraryVersion(user.id(), Instant.now());
+                eventPublisher.publishEvent(GameChangedEvent.saved(user.id(), written));
+                return written;
+            });
+            results[index] = BatchItemResult.created(index, saved.getId());
+        } catch (DataIntegrityViolationException e) {
+            results[index] = BatchItemResult.rejected(index, BatchItemResult.Status.CONFLICT, "Game already in collection");
+        } catch (RuntimeException e) {
+            log.error("Error adding game in batch: {}", e.getMessage(), e);
+            results[index] = BatchItemResult.rejected(index, BatchItemResult.Status.FAILED, "Error adding game");
+        }
+    }
+
+    private Game persist(Game game, AuthenticatedUser user) {
+        // Ids are always generated here; a client-supplied id must never address an existing row.
+        // A rolled back chunk leaves its version set too, which would turn the retry into a merge
+        game.setId(null);
+        game.setVersion(null);
+        game.setUser(userRepository.getReferenceById(user.id()));
+        return gameRepository.save(game);
+    }
+}
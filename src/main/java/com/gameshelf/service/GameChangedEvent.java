@@ -0,0 +1,27 @@
+package com.gameshelf.service;
+
+import com.gameshelf.model.Game;
+
+/**
+ * Published whenever a game is added, updated or deleted.
+ * Listeners that keep derived per-user state (indexes, caches) react to it,
+ * normally after the change has committed.
+ *
+ * @param userId the owner of the game
+ * @param gameId the ID of the changed game
+ * @param game the game as written, or null if it was deleted
+ */
+public record GameChangedEvent(Long userId, Long gameId, Game game) {
+
+    public static GameChangedEvent saved(Long userId, Game game) {
+        return new GameChangedEvent(userId, game.getId(), game);
+    }
+
+    public static GameChangedEvent deleted(Long userId, Long gameId) {
+        return new GameChangedEvent(userId, gameId, null);
+    }
+
+    public boolean isDeletion() {
+        return game == null;
+    }
+}
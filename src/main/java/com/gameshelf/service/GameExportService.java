@@ -0,0 +1,166 @@
+package com.gameshelf.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gameshelf.dto.GameExportRow;
+import com.gameshelf.repository.GameRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Service that writes a user's whole library to an output stream.
+ * Rows are read from a forward-only database cursor and written one at a time,
+ * so heap use stays flat regardless of how many games the user owns.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameExportService {
+
+    private static final String CSV_HEADER = "id,title,genre,platform,rating,releaseDate,notes";
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final GameRepository gameRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Supported export formats.
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Resolves a format from its request parameter value.
+         *
+         * @param value the format name, case-insensitive
+         * @return the matching format
+         * @throws IllegalArgumentException if the format is not supported
+         */
+        public static Format fromParameter(String value) {
+            for (Format format : values()) {
+                if (format.extension.equals(value.toLowerCase(Locale.ROOT))) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+
+    /**
+     * Writes all games of the given user to the output stream.
+     * The stream is flushed but not closed.
+     *
+     * @param userId the owner of the games to export
+     * @param format the output format
+     * @param out the stream to write to
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public void export(Long userId, Format format, OutputStream out) throws IOException {
+        try (Stream<GameExportRow> rows = gameRepository.streamExportRows(userId)) {
+            if (format == Format.CSV) {
+                writeCsv(rows, out);
+            } else {
+                writeNdjson(rows, out);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeNdjson(Stream<GameExportRow> rows, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        // The mapper flushes after every value by default; flush in batches instead
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        int[] written = {0};
+        rows.forEach(row -> {
+            try {
+                writer.writeValue(generator, row);
+                generator.writeRaw('\n');
+                if (++written[0] % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.close();
+    }
+
+    private void writeCsv(Stream<GameExportRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+
+        rows.forEach(row -> {
+            try {
+                writer.write(String.valueOf(row.id()));
+                writer.write(',');
+                writer.write(csvField(row.title()));
+                writer.write(',');
+                writer.write(csvField(row.genre()));
+                writer.write(',');
+                writer.write(csvField(row.platform()));
+                writer.write(',');
+                writer.write(row.rating() != null ? row.rating().toString() : "");
+                writer.write(',');
+                writer.write(row.releaseDate() != null ? row.releaseDate().toString() : "");
+                writer.write(',');
+                writer.write(csvField(row.notes()));
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    /**
+     * Quotes a CSV field as described in RFC 4180 when it contains
+     * separators, quotes or line breaks.
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
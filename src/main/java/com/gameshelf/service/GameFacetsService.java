@@ -0,0 +1,88 @@
+package com.gameshelf.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gameshelf.dto.FacetCount;
+import com.gameshelf.dto.GameFacets;
+import com.gameshelf.repository.GameRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Service computing the facet counts of a user's library.
+ * Counts come from grouped queries over the user's games and are cached per user
+ * together with the library version they were computed at. A cached entry is only
+ * served while the library version is unchanged, and local writes drop it eagerly,
+ * so the cache never serves counts older than the library.
+ */
+@Service
+public class GameFacetsService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameFacetsService.class);
+
+    private final GameRepository gameRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<Long, CachedFacets> cache;
+
+    public GameFacetsService(GameRepository gameRepository, PlatformTransactionManager transactionManager,
+            @Value("${app.games.facets.cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.games.facets.cache.ttl:10m}") Duration ttl) {
+        this.gameRepository = gameRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .build();
+    }
+
+    /**
+     * Returns the facet counts of the user's library at the given library version.
+     *
+     * @param userId the owner of the library
+     * @param libraryVersion the current version of the user's library
+     * @return the facet counts
+     */
+    public GameFacets getFacets(Long userId, long libraryVersion) {
+        CachedFacets cached = cache.getIfPresent(userId);
+        if (cached != null && cached.libraryVersion() == libraryVersion) {
+            return cached.facets();
+        }
+
+        GameFacets facets = readOnlyTransaction.execute(status -> computeFacets(userId));
+        // A concurrent reader may have cached a newer version meanwhile; never replace it with an older one
+        cache.asMap().merge(userId, new CachedFacets(libraryVersion, facets),
+            (current, computed) -> current.libraryVersion() > computed.libraryVersion() ? current : computed);
+        return facets;
+    }
+
+    /**
+     * Drops the cached facets of a user whose library changed.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameChanged(GameChangedEvent event) {
+        cache.invalidate(event.userId());
+    }
+
+    private GameFacets computeFacets(Long userId) {
+        log.debug("Computing facets for user id: {}", userId);
+        List<FacetCount<String>> genres = gameRepository.countByGenre(userId);
+        long total = genres.stream().mapToLong(FacetCount::count).sum();
+        return new GameFacets(total, genres, gameRepository.countByPlatform(userId),
+            gameRepository.countByRating(userId), gameRepository.countByReleaseYear(userId));
+    }
+
+    private record CachedFacets(long libraryVersion, GameFacets facets) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.gameshelf.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache of game read responses as already-serialized UTF-8 JSON, so a hit skips
+ * loading entities and running Jackson. Holds the library pages of each user and
+ * single games, bounded by their total size in bytes and expired after a fixed time.
+ *
+ * <p>Every entry records the version it was serialized at, and callers pass in the
+ * current version read from the database, so an entry written before a change made
+ * on any node is never served. Local changes also drop entries eagerly after commit.
+ * Hit, miss and eviction counts are published as {@code cache.*} metrics.
+ */
+@Component
+public class GameJsonCache {
+
+    // Distinct pages (limit, cursor, fields) kept per user; a user's pages are evicted together
+    private static final int MAX_PAGES_PER_USER = 32;
+    // Rough per-entry bookkeeping cost, so many tiny entries still count against the budget
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, LibraryPages> libraries;
+    private final Cache<Long, CachedGame> games;
+    // An entry of an older version is a miss, so hits and misses are recorded here rather than by lookups
+    private final StatsCounter libraryStats = new ConcurrentStatsCounter();
+    private final StatsCounter gameStats = new ConcurrentStatsCounter();
+
+    public GameJsonCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${app.games.json-cache.max-size:64MB}") DataSize maxSize,
+            @Value("${app.games.json-cache.ttl:10m}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        // Split the byte budget: library pages are larger and more valuable than single games
+        long libraryBytes = maxSize.toBytes() / 4 * 3;
+        this.libraries = Caffeine.newBuilder()
+            .maximumWeight(libraryBytes)
+            .weigher((Long userId, LibraryPages pages) -> pages.weight())
+            .expireAfterWrite(ttl)
+            .recordStats(() -> libraryStats)
+            .build();
+        this.games = Caffeine.newBuilder()
+            .maximumWeight(maxSize.toBytes() - libraryBytes)
+            .weigher((Long gameId, CachedGame game) -> game.json().length + ENTRY_OVERHEAD_BYTES)
+            .expireAfterWrite(ttl)
+            .recordStats(() -> gameStats)
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, libraries, "gameLibraryJson");
+        CaffeineCacheMetrics.monitor(meterRegistry, games, "gameJson");
+    }
+
+    /**
+     * Returns one page of a user's library as JSON, serializing and caching it on a miss.
+     *
+     * @param userId the owner of the library
+     * @param libraryVersion the current version of the user's library
+     * @param pageKey identifies the page within the library, e.g. its query parameters
+     * @param loader reads the page from the database on a miss
+     * @return the page as UTF-8 JSON
+     */
+    public byte[] getLibraryPage(Long userId, long libraryVersion, String pageKey, Supplier<?> loader) {
+        LibraryPages cached = libraries.asMap().get(userId);
+        if (cached != null && cached.version() == libraryVersion) {
+            byte[] json = cached.pages().get(pageKey);
+            if (json != null) {
+                libraryStats.recordHits(1);
+                return json;
+            }
+        }
+        libraryStats.recordMisses(1);
+
+        byte[] json = serialize(loader.get());
+        libraries.asMap().compute(userId, (id, current) -> {
+            if (current != null && current.version() > libraryVersion) {
+                return current;
+            }
+            if (current == null || current.version() < libraryVersion || current.pages().size() >= MAX_PAGES_PER_USER) {
+                return new LibraryPages(libraryVersion, Map.of(pageKey, json));
+            }
+            Map<String, byte[]> pages = new HashMap<>(current.pages());
+            pages.put(pageKey, json);
+            return new LibraryPages(libraryVersion, Map.copyOf(pages));
+        });
+        return json;
+    }
+
+    /**
+     * Returns a user's game as JSON, serializing and caching it on a miss.
+     *
+     * @param userId the owner of the game
+     * @param gameId the ID of the game
+     * @param gameVersion the current version of the game
+     * @param loader reads the game from the database on a miss
+     * @return the game as UTF-8 JSON
+     */
+    public byte[] getGame(Long userId, Long gameId, long gameVersion, Supplier<?> loader) {
+        CachedGame cached = games.asMap().get(gameId);
+        if (cached != null && cached.version() == gameVersion && cached.userId().equals(userId)) {
+            gameStats.recordHits(1);
+            return cached.json();
+        }
+        gameStats.recordMisses(1);
+
+        byte[] json = serialize(loader.get());
+        games.asMap().merge(gameId, new CachedGame(userId, gameVersion, json),
+            (current, loaded) -> current.version() > loaded.version() ? current : loaded);
+        return json;
+    }
+
+    /**
+     * Drops the cached library pages and game affected by a committed change.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameChanged(GameChangedEvent event) {
+        libraries.invalidate(event.userId());
+        games.invalidate(event.gameId());
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response", e);
+        }
+    }
+
+    private record LibraryPages(long version, Map<String, byte[]> pages) {
+
+        int weight() {
+            long bytes = 0;
+            for (Map.Entry<String, byte[]> page : pages.entrySet()) {
+                bytes += page.getKey().length() + page.getValue().length + ENTRY_OVERHEAD_BYTES;
+            }
+            return (int) Math.min(bytes, Integer.MAX_VALUE);
+        }
+    }
+
+    private record CachedGame(Long userId, long version, byte[] json) {
+    }
+}
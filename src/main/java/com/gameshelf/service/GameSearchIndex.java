@@ -0,0 +1,278 @@
+package com.gameshelf.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gameshelf.dto.GameSearchDocument;
+import com.gameshelf.dto.SearchHit;
+import com.gameshelf.model.Game;
+import com.gameshelf.repository.GameRepository;
+
+/**
+ * In-memory inverted index over the title, genre, platform and notes of every game.
+ * Each user has a separate index, so a search only ever looks at that user's games.
+ * The index is built from the games table before the application starts serving
+ * requests and is kept current from {@link GameChangedEvent}s after each commit.
+ * Changes made by other application instances are only picked up on restart.
+ */
+@Component
+public class GameSearchIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(GameSearchIndex.class);
+
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double GENRE_WEIGHT = 2.0;
+    private static final double PLATFORM_WEIGHT = 2.0;
+    private static final double NOTES_WEIGHT = 1.0;
+    // A term that only starts with the query term counts for less than an exact match
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final GameRepository gameRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private volatile ConcurrentMap<Long, UserIndex> indexes = new ConcurrentHashMap<>();
+
+    public GameSearchIndex(GameRepository gameRepository, PlatformTransactionManager transactionManager) {
+        this.gameRepository = gameRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the whole index from the games table and swaps it in atomically.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        ConcurrentMap<Long, UserIndex> rebuilt = new ConcurrentHashMap<>();
+        int[] count = {0};
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<GameSearchDocument> documents = gameRepository.streamSearchDocuments()) {
+                documents.forEach(document -> {
+                    rebuilt.computeIfAbsent(document.userId(), id -> new UserIndex()).put(document);
+                    count[0]++;
+                });
+            }
+        });
+
+        indexes = rebuilt;
+        log.info("Built search index for {} games of {} users in {} ms",
+            count[0], rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Applies a committed game change to the index.
+     *
+     * @param event the change to apply
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameChanged(GameChangedEvent event) {
+        if (event.isDeletion()) {
+            UserIndex index = indexes.get(event.userId());
+            if (index != null) {
+                index.remove(event.gameId());
+            }
+            return;
+        }
+
+        Game game = event.game();
+        indexes.computeIfAbsent(event.userId(), id -> new UserIndex()).put(new GameSearchDocument(
+            event.userId(), game.getId(), game.getTitle(), game.getGenre(), game.getPlatform(), game.getNotes()));
+    }
+
+    /**
+     * Finds the user's games matching every term of the query, best match first.
+     * Each query term matches indexed terms equal to it or starting with it.
+     *
+     * @param userId the owner of the games to search
+     * @param query free text to search for
+     * @param limit maximum number of hits to return
+     * @return the matching games ordered by descending relevance
+     */
+    public List<SearchHit> search(Long userId, String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        UserIndex index = indexes.get(userId);
+        if (terms.isEmpty() || index == null) {
+            return List.of();
+        }
+        return index.search(terms, limit);
+    }
+
+    /**
+     * Splits text into lower-case terms with accents removed.
+     *
+     * @param text the text to split, may be null
+     * @return the terms in order of appearance
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        for (String term : TOKEN_SEPARATOR.split(folded)) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerms(Map<String, Double> weights, String text, double fieldWeight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, fieldWeight, Double::sum);
+        }
+    }
+
+    /**
+     * The index of one user's games: a sorted term dictionary, so prefix lookups are
+     * range scans, mapping each term to the weighted frequency of that term per game.
+     */
+    private static final class UserIndex {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, IndexedGame> games = new HashMap<>();
+        private final NavigableMap<String, Map<Long, Double>> postings = new TreeMap<>();
+
+        void put(GameSearchDocument document) {
+            Map<String, Double> weights = new HashMap<>();
+            addTerms(weights, document.title(), TITLE_WEIGHT);
+            addTerms(weights, document.genre(), GENRE_WEIGHT);
+            addTerms(weights, document.platform(), PLATFORM_WEIGHT);
+            addTerms(weights, document.notes(), NOTES_WEIGHT);
+
+            lock.writeLock().lock();
+            try {
+                removeLocked(document.id());
+                games.put(document.id(), new IndexedGame(document, weights.keySet()));
+                weights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.id(), weight));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long gameId) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(gameId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeLocked(Long gameId) {
+            IndexedGame previous = games.remove(gameId);
+            if (previous == null) {
+                return;
+            }
+            for (String term : previous.terms()) {
+                Map<Long, Double> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(gameId);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+
+        List<SearchHit> search(List<String> queryTerms, int limit) {
+            lock.readLock().lock();
+            try {
+                Map<Long, Double> scores = null;
+                for (String queryTerm : queryTerms) {
+                    Map<Long, Double> termScores = scoreTerm(queryTerm);
+                    if (scores == null) {
+                        scores = termScores;
+                    } else {
+                        scores.keySet().retainAll(termScores.keySet());
+                        scores.replaceAll((gameId, score) -> score + termScores.get(gameId));
+                    }
+                    if (scores.isEmpty()) {
+                        return List.of();
+                    }
+                }
+                return topHits(scores, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Scores every game containing a term equal to or starting with the query term,
+         * using the weighted term frequency times the term's inverse document frequency.
+         */
+        private Map<Long, Double> scoreTerm(String queryTerm) {
+            Map<Long, Double> termScores = new HashMap<>();
+            NavigableMap<String, Map<Long, Double>> matches =
+                postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false);
+            for (Map.Entry<String, Map<Long, Double>> match : matches.entrySet()) {
+                double factor = match.getKey().length() == queryTerm.length() ? 1.0 : PREFIX_MATCH_FACTOR;
+                double idf = Math.log(1.0 + (double) games.size() / match.getValue().size());
+                match.getValue().forEach((gameId, weight) ->
+                    termScores.merge(gameId, weight * idf * factor, Math::max));
+            }
+            return termScores;
+        }
+
+        private List<SearchHit> topHits(Map<Long, Double> scores, int limit) {
+            Comparator<Map.Entry<Long, Double>> byRelevance = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+            // Min-heap of the best hits seen so far, so only `limit` entries are ever kept in order
+            PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(limit + 1, byRelevance);
+            for (Map.Entry<Long, Double> score : scores.entrySet()) {
+                best.offer(score);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                Map.Entry<Long, Double> score = best.poll();
+                GameSearchDocument document = games.get(score.getKey()).document();
+                hits.add(new SearchHit(document.id(), document.title(), document.genre(), document.platform(),
+                    score.getValue()));
+            }
+            Collections.reverse(hits);
+            return hits;
+        }
+    }
+
+    private record IndexedGame(GameSearchDocument document, Set<String> terms) {
+    }
+}
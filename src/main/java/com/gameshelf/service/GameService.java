@@ -0,0 +1,167 @@
+package com.gameshelf.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.gameshelf.model.Game;
+import com.gameshelf.repository.GameRepository;
+import com.gameshelf.repository.UserRepository;
+import com.gameshelf.security.AuthenticatedUser;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Service handling changes to a user's game collection.
+ * Every change bumps the user's library version in the same transaction,
+ * so conditional reads can never observe new data with an old version,
+ * and publishes a {@link GameChangedEvent} for listeners keeping derived state.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameService {
+
+    private final GameRepository gameRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Adds a new game to the user's collection.
+     *
+     * @param game the game to add
+     * @param user the owner of the game
+     * @return the saved game
+     */
+    @Transactional
+    public Game addGame(Game game, AuthenticatedUser user) {
+        // Ids are always generated; a client-supplied id must never address an existing row
+        game.setId(null);
+        game.setUser(userRepository.getReferenceById(user.id()));
+        Game saved = gameRepository.save(game);
+        userRepository.bumpLibraryVersion(user.id(), Instant.now());
+        eventPublisher.publishEvent(GameChangedEvent.saved(user.id(), saved));
+        return saved;
+    }
+
+    /**
+     * Replaces the details of one of the user's games.
+     *
+     * @param id the ID of the game to update
+     * @param updatedGame the new game details
+     * @param user the owner of the game
+     * @return the updated game, or empty if the user owns no game with this ID
+     */
+    @Transactional
+    public Optional<Game> updateGame(Long id, Game updatedGame, AuthenticatedUser user) {
+        return findOwnedGame(id, user)
+            .map(game -> {
+                game.setTitle(updatedGame.getTitle());
+                game.setGenre(updatedGame.getGenre());
+                game.setPlatform(updatedGame.getPlatform());
+                game.setRating(updatedGame.getRating());
+                game.setReleaseDate(updatedGame.getReleaseDate());
+                game.setNotes(updatedGame.getNotes());
+                Game saved = gameRepository.saveAndFlush(game);
+                userRepository.bumpLibraryVersion(user.id(), Instant.now());
+                eventPublisher.publishEvent(GameChangedEvent.saved(user.id(), saved));
+                return saved;
+            });
+    }
+
+    /**
+     * Applies a JSON Merge Patch (RFC 7396) to one of the user's games.
+     * Only the members present in the patch are changed; {@code null} clears an optional field.
+     * Hibernate writes only the columns whose values actually changed, and a patch that changes
+     * nothing leaves the game and the library version untouched.
+     *
+     * @param id the ID of the game to patch
+     * @param patch the merge patch document
+     * @param user the owner of the game
+     * @return the patched game, or empty if the user owns no game with this ID
+     * @throws IllegalArgumentException if the patch is not an object, names an unknown or read-only
+     *         field, clears a required field or has a value of the wrong type
+     */
+    @Transactional
+    public Optional<Game> patchGame(Long id, JsonNode patch, AuthenticatedUser user) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("Merge patch must be a JSON object");
+        }
+        return findOwnedGame(id, user)
+            .map(game -> {
+                Long previousVersion = game.getVersion();
+                for (Iterator<Map.Entry<String, JsonNode>> it = patch.fields(); it.hasNext();) {
+                    Map.Entry<String, JsonNode> member = it.next();
+                    applyMember(game, member.getKey(), member.getValue());
+                }
+                Game saved = gameRepository.saveAndFlush(game);
+                if (!Objects.equals(previousVersion, saved.getVersion())) {
+                    userRepository.bumpLibraryVersion(user.id(), Instant.now());
+                    eventPublisher.publishEvent(GameChangedEvent.saved(user.id(), saved));
+                }
+                return saved;
+            });
+    }
+
+    private static void applyMember(Game game, String name, JsonNode value) {
+        switch (name) {
+            case "title" -> game.setTitle(requiredText(name, value));
+            case "genre" -> game.setGenre(requiredText(name, value));
+            case "platform" -> game.setPlatform(requiredText(name, value));
+            case "notes" -> game.setNotes(value.isNull() ? null : requiredText(name, value));
+            case "rating" -> {
+                if (!value.isNull() && !value.isNumber()) {
+                    throw new IllegalArgumentException("rating must be a number");
+                }
+                game.setRating(value.isNull() ? null : value.doubleValue());
+            }
+            case "releaseDate" -> {
+                try {
+                    game.setReleaseDate(value.isNull() ? null : LocalDate.parse(requiredText(name, value)));
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("releaseDate must be an ISO date such as 2024-01-31");
+                }
+            }
+            default -> throw new IllegalArgumentException("Field cannot be patched: " + name);
+        }
+    }
+
+    private static String requiredText(String name, JsonNode value) {
+        if (!value.isTextual()) {
+            throw new IllegalArgumentException(name + " must be a non-null string");
+        }
+        return value.textValue();
+    }
+
+    /**
+     * Deletes one of the user's games.
+     *
+     * @param id the ID of the game to delete
+     * @param user the owner of the game
+     * @return true if the game was deleted, false if the user owns no game with this ID
+     */
+    @Transactional
+    public boolean deleteGame(Long id, AuthenticatedUser user) {
+        return findOwnedGame(id, user)
+            .map(game -> {
+                gameRepository.delete(game);
+                userRepository.bumpLibraryVersion(user.id(), Instant.now());
+                eventPublisher.publishEvent(GameChangedEvent.deleted(user.id(), id));
+                return true;
+            })
+            .orElse(false);
+    }
+
+    private Optional<Game> findOwnedGame(Long id, AuthenticatedUser user) {
+        return gameRepository.findById(id)
+            .filter(game -> game.getUser() != null && game.getUser().getId().equals(user.id()));
+    }
+}
@@ -0,0 +1,155 @@
+package com.gameshelf.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gameshelf.dto.TokenResponse;
+import com.gameshelf.model.RefreshToken;
+import com.gameshelf.repository.RefreshTokenRepository;
+import com.gameshelf.repository.UserRepository;
+import com.gameshelf.security.JwtUtil;
+
+/**
+ * Service issuing and rotating refresh tokens, so clients extend a session without
+ * sending the password through BCrypt again.
+ *
+ * <p>Refresh tokens are random, opaque and single-use: each refresh marks the presented
+ * token used and returns a new access token together with a successor refresh token of
+ * the same family. Only a SHA-256 hash of each token is stored; the tokens carry 256 random
+ * bits, so a fast hash is enough. A used token presented again means a copy leaked, and
+ * the whole family is revoked, logging out both the thief and the legitimate client.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtUtil jwtUtil;
+    private final Duration ttl;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+            JwtUtil jwtUtil, @Value("${app.security.refresh-token.ttl:14d}") Duration ttl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtUtil = jwtUtil;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Issues the first refresh token of a new family, at login.
+     *
+     * @param userId the id of the authenticated user
+     * @return the refresh token, to be handed to the client once
+     */
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString(), Instant.now());
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a successor refresh token.
+     *
+     * @param refreshToken the refresh token presented by the client
+     * @return the new tokens, or empty if the refresh token is unknown, expired, revoked or already used
+     */
+    @Transactional
+    public Optional<TokenResponse> rotate(String refreshToken) {
+        Instant now = Instant.now();
+        // The row lock makes concurrent refreshes with one token see each other's use
+        Optional<RefreshToken> found = refreshTokenRepository.findForRotation(hash(refreshToken));
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        RefreshToken current = found.get();
+        if (current.getUsedAt() != null || current.getRevokedAt() != null) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            if (current.getUsedAt() != null) {
+                log.warn("Reuse of refresh token detected for user: {}; revoked {} tokens of its family",
+                    current.getUser().getUsername(), revoked);
+            }
+            return Optional.empty();
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            return Optional.empty();
+        }
+
+        current.setUsedAt(now);
+        String successor = issue(current.getUser().getId(), current.getFamilyId(), now);
+        String accessToken = jwtUtil.generateToken(current.getUser().getUsername());
+        return Optional.of(new TokenResponse(accessToken, successor));
+    }
+
+    /**
+     * Revokes a refresh token and every token rotated from the same login, e.g. at logout.
+     * Tokens of other users and unknown tokens are ignored.
+     *
+     * @param refreshToken the refresh token to revoke
+     * @param userId the id of the user making the request
+     */
+    @Transactional
+    public void revoke(String refreshToken, Long userId) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+            .filter(token -> token.getUser().getId().equals(userId))
+            .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), Instant.now()));
+    }
+
+    /**
+     * Revokes every refresh token of a user, ending all of the user's sessions once
+     * their access tokens expire.
+     *
+     * @param userId the id of the user
+     * @return the number of tokens revoked
+     */
+    @Transactional
+    public int revokeAll(Long userId) {
+        return refreshTokenRepository.revokeAllOfUser(userId, Instant.now());
+    }
+
+    /**
+     * Deletes expired refresh tokens. Used and revoked tokens are kept until then, so reuse stays detectable.
+     */
+    @Scheduled(fixedDelayString = "${app.security.refresh-token.purge-interval:1h}")
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpiredBefore(Instant.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private String issue(Long userId, String familyId, Instant now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(userRepository.getReferenceById(userId), familyId,
+            hash(token), now, now.plus(ttl)));
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.gameshelf.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.gameshelf.model.TokenRevocation;
+import com.gameshelf.repository.TokenRevocationRepository;
+import com.gameshelf.security.TokenRevocationStore;
+import com.gameshelf.security.VerifiedToken;
+
+/**
+ * Service persisting token revocations and replicating them to every node.
+ * A revocation is written to the {@code token_revocations} table and applied to the
+ * local {@link TokenRevocationStore} at once; other nodes pick it up by polling for
+ * rows with a higher {@code seq} than they have seen. Request handling only ever
+ * consults the local store, so checking a token never touches the database.
+ *
+ * <p>Sequence numbers are assigned at insert but become visible at commit, so a row
+ * may appear after a row with a higher number. Rows younger than the grace period are
+ * therefore read again on later polls before the node moves past them.
+ */
+@Service
+public class TokenRevocationService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final int POLL_BATCH_SIZE = 1000;
+
+    private final TokenRevocationRepository repository;
+    private final TokenRevocationStore store;
+    private final Duration commitGrace;
+    private long appliedSeq;
+
+    public TokenRevocationService(TokenRevocationRepository repository, TokenRevocationStore store,
+            @Value("${app.security.revocation.commit-grace:30s}") Duration commitGrace) {
+        this.repository = repository;
+        this.store = store;
+        this.commitGrace = commitGrace;
+    }
+
+    /**
+     * Loads all current revocations before the application starts serving requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        poll();
+        log.info("Loaded {} token revocations", store.size());
+    }
+
+    /**
+     * Revokes a token on every node until it expires.
+     *
+     * @param token the verified token to revoke
+     * @throws IllegalArgumentException if the token has no {@code jti} claim
+     */
+    public void revoke(VerifiedToken token) {
+        if (token.id() == null) {
+            throw new IllegalArgumentException("Token cannot be revoked: it has no token id");
+        }
+        try {
+            repository.save(new TokenRevocation(token.id(), token.expiresAt(), Instant.now()));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Token {} was already revoked", token.id());
+        }
+        store.revoke(token.id(), token.expiresAt());
+    }
+
+    /**
+     * Applies revocations recorded by any node since the last poll.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.poll-interval:2s}")
+    public synchronized void poll() {
+        Instant settled = Instant.now().minus(commitGrace);
+        // Paging continues past recent rows, so a burst of revocations is applied in one poll
+        long readSeq = appliedSeq;
+        long next = appliedSeq;
+        boolean blocked = false;
+        List<TokenRevocation> rows;
+        do {
+            rows = repository.findBySeqGreaterThanOrderBySeq(readSeq, Limit.of(POLL_BATCH_SIZE));
+            for (TokenRevocation row : rows) {
+                store.revoke(row.getTokenId(), row.getExpiresAt());
+                // A row with a lower seq may still be committing; stop short of recent rows until it must be visible
+                blocked = blocked || row.getRevokedAt().isAfter(settled);
+                if (!blocked) {
+                    next = row.getSeq();
+                }
+                readSeq = row.getSeq();
+            }
+        } while (rows.size() == POLL_BATCH_SIZE);
+        appliedSeq = next;
+    }
+
+    /**
+     * Deletes revocations of tokens that have expired; they can no longer be used anyway.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.purge-interval:10m}")
+    public void purgeExpired() {
+        int purged = repository.deleteExpiredBefore(Instant.now().minus(commitGrace));
+        if (purged > 0) {
+            log.debug("Purged {} expired token revocations", purged);
+        }
+    }
+}
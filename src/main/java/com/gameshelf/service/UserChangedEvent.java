@@ -0,0 +1,10 @@
+package com.gameshelf.service;
+
+/**
+ * Published whenever a user's password or roles change or the user is deleted.
+ * Listeners holding a copy of the user's identity or credentials drop it.
+ *
+ * @param username the username of the changed user
+ */
+public record UserChangedEvent(String username) {
+}
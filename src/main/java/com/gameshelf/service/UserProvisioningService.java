@@ -0,0 +1,251 @@
+package com.gameshelf.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gameshelf.dto.AuthRequest;
+import com.gameshelf.dto.BatchItemResult;
+import com.gameshelf.dto.UserIdentity;
+import com.gameshelf.exception.HashingCapacityExceededException;
+import com.gameshelf.model.User;
+import com.gameshelf.repository.UserRepository;
+import com.gameshelf.security.PasswordHashingExecutor;
+
+/**
+ * Service creating many user accounts at once, for onboarding a whole community.
+ * The request body is read one entry at a time and handled in chunks, so memory use
+ * depends on the chunk size rather than the number of users. For each chunk, taken
+ * names are found with one query, the passwords are hashed in parallel, and the users
+ * are inserted as JDBC batches in one transaction. Every entry gets its own result,
+ * as in the game batch import.
+ *
+ * <p>Passwords are hashed on the {@link PasswordHashingExecutor} shared with logins, with
+ * at most half of its threads' worth of hashes in flight, so a large import takes longer
+ * rather than delaying logins behind a queue of its own work.
+ */
+@Service
+public class UserProvisioningService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserProvisioningService.class);
+
+    private final UserRepository userRepository;
+    private final AuthService authService;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final int hashingParallelism;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public UserProvisioningService(UserRepository userRepository, AuthService authService,
+            PasswordEncoder passwordEncoder, PasswordHashingExecutor hashingExecutor,
+            TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+            @Value("${app.users.batch.chunk-size:500}") int chunkSize,
+            @Value("${app.users.batch.max-items:100000}") int maxItems) {
+        this.userRepository = userRepository;
+        this.authService = authService;
+        this.passwordEncoder = passwordEncoder;
+        this.hashingExecutor = hashingExecutor;
+        this.hashingParallelism = Math.max(1, hashingExecutor.getThreads() / 2);
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Creates the users listed in a JSON array of {@code {username, email, password}} objects.
+     * Entries failing the registration rules are reported as {@code INVALID}; entries whose
+     * username or email is taken, or repeated earlier in the request, as {@code CONFLICT}.
+     * Chunks are committed as they are processed: if the body turns out to be malformed or
+     * exceeds the size limit part way through, the entries before stay created and the
+     * first entry not read is reported as {@code FAILED}.
+     *
+     * @param json the request body
+     * @return one result per entry read, in request order
+     * @throws IllegalArgumentException if the body is not a JSON array
+     * @throws IOException if the body cannot be read
+     */
+    public List<BatchItemResult> provision(InputStream json) throws IOException {
+        List<BatchItemResult> results = new ArrayList<>();
+        Set<String> requestUsernames = new HashSet<>();
+        Set<String> requestEmails = new HashSet<>();
+        List<Entry> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Request body must be a JSON array of users");
+            }
+            try {
+                for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken(), index++) {
+                    if (token == null) {
+                        throw new JsonParseException(parser, "Unexpected end of input");
+                    }
+                    if (index >= maxItems) {
+                        results.add(BatchItemResult.rejected(index, BatchItemResult.Status.FAILED,
+                            "Batch limit of " + maxItems + " users reached, the remaining entries were not read"));
+                        break;
+                    }
+                    AuthRequest request = parser.readValueAs(AuthRequest.class);
+                    BatchItemResult rejection = check(index, request, requestUsernames, requestEmails);
+                    if (rejection != null) {
+                        results.add(rejection);
+                        continue;
+                    }
+                    chunk.add(new Entry(index, request.getUsername().trim(), request.getEmail().toLowerCase().trim(),
+                        request.getPassword()));
+                    if (chunk.size() == chunkSize) {
+                        insertChunk(chunk, results);
+                        chunk.clear();
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                results.add(BatchItemResult.rejected(index, BatchItemResult.Status.FAILED,
+                    "Malformed JSON, the remaining entries were not read"));
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, results);
+        }
+
+        results.sort(Comparator.comparingInt(BatchItemResult::getIndex));
+        log.info("User provisioning finished, {} of {} users created",
+            results.stream().filter(r -> r.getStatus() == BatchItemResult.Status.CREATED).count(), results.size());
+        return results;
+    }
+
+    private BatchItemResult check(int index, AuthRequest request, Set<String> requestUsernames, Set<String> requestEmails) {
+        if (request == null) {
+            return BatchItemResult.rejected(index, BatchItemResult.Status.INVALID, "User entry missing");
+        }
+        try {
+            authService.validateRegistrationInput(request.getUsername(), request.getEmail(), request.getPassword());
+        } catch (IllegalArgumentException e) {
+            return BatchItemResult.rejected(index, BatchItemResult.Status.INVALID, e.getMessage());
+        }
+        if (!requestUsernames.add(request.getUsername().trim())) {
+            return BatchItemResult.rejected(index, BatchItemResult.Status.CONFLICT, "Duplicate username in request");
+        }
+        if (!requestEmails.add(request.getEmail().toLowerCase().trim())) {
+            return BatchItemResult.rejected(index, BatchItemResult.Status.CONFLICT, "Duplicate email in request");
+        }
+        return null;
+    }
+
+    private void insertChunk(List<Entry> chunk, List<BatchItemResult> results) {
+        List<UserIdentity> taken = userRepository.findIdentities(
+            chunk.stream().map(Entry::username).toList(), chunk.stream().map(Entry::email).toList());
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (UserIdentity identity : taken) {
+            takenUsernames.add(identity.username());
+            takenEmails.add(identity.email());
+        }
+
+        List<Entry> toInsert = new ArrayList<>(chunk.size());
+        for (Entry entry : chunk) {
+            if (takenUsernames.contains(entry.username())) {
+                results.add(BatchItemResult.rejected(entry.index(), BatchItemResult.Status.CONFLICT, "Username already exists"));
+            } else if (takenEmails.contains(entry.email())) {
+                results.add(BatchItemResult.rejected(entry.index(), BatchItemResult.Status.CONFLICT, "Email already exists"));
+            } else {
+                toInsert.add(entry);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        // Hashing dominates the cost; it runs before the transaction
+        List<User> users = hashPasswords(toInsert);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAll(users);
+                // Inserts are queued until here and sent as JDBC batches of hibernate.jdbc.batch_size
+                userRepository.flush();
+            });
+            for (int i = 0; i < users.size(); i++) {
+                results.add(BatchItemResult.created(toInsert.get(i).index(), users.get(i).getId()));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Someone registered one of these names after our check; retry one by one to find it
+            log.debug("User provisioning chunk hit a constraint, retrying entries individually");
+            for (int i = 0; i < users.size(); i++) {
+                insertSingle(users.get(i), toInsert.get(i).index(), results);
+            }
+        }
+    }
+
+    private void insertSingle(User user, int index, List<BatchItemResult> results) {
+        try {
+            user.setId(null);
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAndFlush(user));
+            results.add(BatchItemResult.created(index, user.getId()));
+        } catch (DataIntegrityViolationException e) {
+            results.add(BatchItemResult.rejected(index, BatchItemResult.Status.CONFLICT, "Username or email already exists"));
+        } catch (RuntimeException e) {
+            log.error("Error provisioning user: {}", e.getMessage(), e);
+            results.add(BatchItemResult.rejected(index, BatchItemResult.Status.FAILED, "Error creating user"));
+        }
+    }
+
+    private List<User> hashPasswords(List<Entry> entries) {
+        List<CompletableFuture<User>> users = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            if (i >= hashingParallelism) {
+                // Wait for the oldest hash in flight, so the import never holds more than its share of the threads
+                users.get(i - hashingParallelism).join();
+            }
+            users.add(submitHash(entries.get(i)));
+        }
+        return users.stream().map(CompletableFuture::join).toList();
+    }
+
+    private CompletableFuture<User> submitHash(Entry entry) {
+        while (true) {
+            try {
+                return hashingExecutor.submit(() -> toUser(entry));
+            } catch (HashingCapacityExceededException e) {
+                // Logins have filled the queue; the import waits for them rather than competing
+                try {
+                    Thread.sleep(e.getRetryAfter().toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting to hash passwords", interrupted);
+                }
+            }
+        }
+    }
+
+    private User toUser(Entry entry) {
+        User user = new User();
+        user.setUsername(entry.username());
+        user.setEmail(entry.email());
+        user.setPassword(passwordEncoder.encode(entry.password()));
+        return user;
+    }
+
+    private record Entry(int index, String username, String email, String password) {
+    }
+}
@@ -0,0 +1,6 @@
+-- games.id moves from IDENTITY to a pooled sequence so Hibernate can batch inserts.
+-- Hibernate's pooled optimizer treats each sequence value as the top of a block of 50 ids,
+-- so the sequence restarts 50 past the highest existing id to keep the first block clear of it.
+CREATE SEQUENCE IF NOT EXISTS games_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE games_seq RESTART WITH (SELECT CASE WHEN MAX(id) IS NULL THEN 1 ELSE MAX(id) + 50 END FROM games);
+ALTER TABLE games ALTER COLUMN id DROP IDENTITY;
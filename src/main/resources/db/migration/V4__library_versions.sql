@@ -0,0 +1,7 @@
+-- Per-user library version, bumped on every add/update/delete, and per-game row version.
+-- Together they back the ETag and Last-Modified headers of the game read endpoints.
+ALTER TABLE users ADD COLUMN library_version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE users ADD COLUMN library_updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+ALTER TABLE games ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE games ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
@@ -0,0 +1,11 @@
+-- Revoked tokens, shared by all application nodes. Each node polls for rows with a
+-- seq above the highest it has applied; rows are purged once their token has expired.
+CREATE TABLE token_revocations (
+    seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+    token_id VARCHAR(64) NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT unique_token_revocation UNIQUE (token_id)
+);
+
+CREATE INDEX idx_token_revocations_expires_at ON token_revocations (expires_at);
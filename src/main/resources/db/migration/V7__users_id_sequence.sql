@@ -0,0 +1,6 @@
+-- users.id moves from IDENTITY to a pooled sequence so Hibernate can batch inserts of
+-- bulk-provisioned users. As for games, the sequence restarts 50 past the highest existing
+-- id so the first block handed out by the pooled optimizer is clear of it.
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE users_seq RESTART WITH (SELECT CASE WHEN MAX(id) IS NULL THEN 1 ELSE MAX(id) + 50 END FROM users);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
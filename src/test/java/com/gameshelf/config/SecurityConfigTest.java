@@ -0,0 +1,79 @@
+package com.gameshelf.config;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.gameshelf.model.User;
+import com.gameshelf.repository.UserRepository;
+import com.gameshelf.security.JwtUtil;
+
+/**
+ * Checks which actuator endpoints are public: health is, metrics are for administrators only.
+ * Metrics export is off in tests by default, so it is switched on to reach the Prometheus endpoint.
+ */
+@SpringBootTest(properties = "app.security.password-hashing.bcrypt.cost=4")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        save("metricsuser", Set.of("ROLE_USER"));
+        save("metricsadmin", Set.of("ROLE_USER", "ROLE_ADMIN"));
+    }
+
+    @Test
+    void health_shouldBePublic() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void prometheus_shouldRequireAdminRole() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, bearer("metricsuser")))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, bearer("metricsadmin")))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void metrics_shouldRequireAdminRole() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, bearer("metricsuser")))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, bearer("metricsadmin")))
+            .andExpect(status().isOk());
+    }
+
+    private void save(String username, Set<String> roles) {
+        if (userRepository.findByUsername(username).isEmpty()) {
+            userRepository.save(new User(username, username + "@example.com", "{noop}unused", roles));
+        }
+    }
+
+    private String bearer(String username) {
+        return "Bearer " + jwtUtil.generateToken(username);
+    }
+}
@@ -0,0 +1,240 @@
+package com.gameshelf.controller;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gameshelf.model.User;
+import static com.gameshelf.monitoring.QueryCountMatchers.queryCount;
+import static com.gameshelf.monitoring.QueryCountMatchers.queryCountAtMost;
+import com.gameshelf.repository.UserRepository;
+import com.gameshelf.security.JwtUtil;
+
+/**
+ * Pins the number of SQL statements each game endpoint runs, so eager fetching,
+ * N+1 selects or extra ownership lookups fail the build instead of reaching production.
+ * The principal is cached before each test, so the counts are those of the endpoint itself.
+ * Also checks the conditional request handling of the game reads.
+ */
+@SpringBootTest(properties = {"app.security.password-hashing.bcrypt.cost=4", "app.games.batch.max-items=3"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GameControllerTest {
+
+    private static final String USERNAME = "querybudget";
+    private static final String GAME = """
+        {"title": "%s", "genre": "RPG", "platform": "PC", "rating": 8.5, "releaseDate": "2023-05-12"}
+        """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (userRepository.findByUsername(USERNAME).isEmpty()) {
+            userRepository.save(new User(USERNAME, "querybudget@example.com", "{noop}unused", Set.of("ROLE_USER")));
+        }
+        token = jwtUtil.generateToken(USERNAME);
+        // Loads the principal into its cache; search itself reads an in-memory index
+        mockMvc.perform(authenticated(get("/api/games/search").param("q", "warm-up")))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void addGame_shouldRunThreeQueriesPlusOccasionalSequenceFetch() throws Exception {
+        // Three statements, plus a sequence call once every 50 game ids
+        mockMvc.perform(authenticated(post("/api/games")).content(GAME.formatted("Add")))
+            .andExpect(status().isOk())
+            .andExpect(queryCountAtMost(4));
+    }
+
+    @Test
+    void getGame_shouldRunOneQuery_whenServedFromCache() throws Exception {
+        long id = addGame("Get");
+
+        mockMvc.perform(authenticated(get("/api/games/{id}", id)))
+            .andExpect(status().isOk())
+            .andExpect(queryCount(2));
+        mockMvc.perform(authenticated(get("/api/games/{id}", id)))
+            .andExpect(status().isOk())
+            .andExpect(queryCount(1));
+    }
+
+    @Test
+    void getGames_shouldRunOneQuery_whenPageIsCached() throws Exception {
+        addGame("List");
+
+        mockMvc.perform(authenticated(get("/api/games")))
+            .andExpect(status().isOk())
+            .andExpect(queryCount(2));
+        mockMvc.perform(authenticated(get("/api/games")))
+            .andExpect(status().isOk())
+            .andExpect(queryCount(1));
+    }
+
+    @Test
+    void updateAndDeleteGame_shouldRunThreeQueriesEach() throws Exception {
+        long id = addGame("Update");
+
+        mockMvc.perform(authenticated(put("/api/games/{id}", id)).content(GAME.formatted("Updated")))
+            .andExpect(status().isOk())
+            .andExpect(queryCount(3));
+        mockMvc.perform(authenticated(delete("/api/games/{id}", id)))
+            .andExpect(status().isNoContent())
+            .andExpect(queryCount(3));
+    }
+
+    @Test
+    void getFacets_shouldRunOneQueryPerFacetPlusVersion() throws Exception {
+        addGame("Facets");
+
+        mockMvc.perform(authenticated(get("/api/games/facets")))
+            .andExpect(status().isOk())
+            .andExpect(queryCount(5));
+    }
+
+    @Test
+    void addGames_shouldRejectEmptyBatchesAndBatchesOverTheLimit() throws Exception {
+        String tooMany = "[" + String.join(",", GAME.formatted("One"), GAME.formatted("Two"),
+            GAME.formatted("Three"), GAME.formatted("Four")) + "]";
+
+        mockMvc.perform(authenticated(post("/api/games/batch")).content("[]"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(authenticated(post("/api/games/batch")).content(tooMany))
+            .andExpect(status().isBadRequest())
+            .andExpect(queryCount(0));
+    }
+
+    @Test
+    void getGames_shouldAnswerNotModified_whenLibraryIsUnchanged() throws Exception {
+        addGame("Conditional List");
+        String etag = libraryEtag();
+        String lastModified = mockMvc.perform(authenticated(get("/api/games")))
+            .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        // Answered from the library version alone, without reading any games
+        mockMvc.perform(authenticated(get("/api/games")).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(queryCount(1));
+        mockMvc.perform(authenticated(get("/api/games")).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getGames_shouldChangeETag_whenLibraryIsModified() throws Exception {
+        String initial = libraryEtag();
+        long id = addGame("Versioned");
+        String afterAdd = libraryEtag();
+
+        mockMvc.perform(authenticated(put("/api/games/{id}", id)).content(GAME.formatted("Versioned II")))
+            .andExpect(status().isOk());
+        String afterUpdate = libraryEtag();
+
+        mockMvc.perform(authenticated(patch("/api/games/{id}", id))
+                .contentType("application/merge-patch+json").content("{\"rating\": 6.0}"))
+            .andExpect(status().isOk());
+        String afterPatch = libraryEtag();
+
+        mockMvc.perform(authenticated(post("/api/games/batch")).content("[" + GAME.formatted("Versioned III") + "]"))
+            .andExpect(status().isOk());
+        String afterBatch = libraryEtag();
+
+        mockMvc.perform(authenticated(delete("/api/games/{id}", id)))
+            .andExpect(status().isNoContent());
+        String afterDelete = libraryEtag();
+
+        assertThat(Set.of(initial, afterAdd, afterUpdate, afterPatch, afterBatch, afterDelete)).hasSize(6);
+        mockMvc.perform(authenticated(get("/api/games")).header(HttpHeaders.IF_NONE_MATCH, afterBatch))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void getGame_shouldAnswerNotModifiedUntilGameChanges() throws Exception {
+        long id = addGame("Conditional Get");
+        String etag = gameEtag(id);
+
+        mockMvc.perform(authenticated(get("/api/games/{id}", id)).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+
+        mockMvc.perform(authenticated(patch("/api/games/{id}", id))
+                .contentType("application/merge-patch+json").content("{\"notes\": \"Replayed\"}"))
+            .andExpect(status().isOk());
+        String patched = gameEtag(id);
+        assertThat(patched).isNotEqualTo(etag);
+        mockMvc.perform(authenticated(get("/api/games/{id}", id)).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(authenticated(put("/api/games/{id}", id)).content(GAME.formatted("Conditional Get II")))
+            .andExpect(status().isOk());
+        assertThat(gameEtag(id)).isNotIn(etag, patched);
+    }
+
+    @Test
+    void patchGame_shouldAnswerBadRequest_whenPatchIsInvalid() throws Exception {
+        long id = addGame("Invalid Patch");
+
+        for (String patch : new String[] {"{\"id\": 1}", "{\"user\": null}", "{\"version\": 0}",
+                "{\"rating\": \"great\"}", "{\"title\": null}"}) {
+            mockMvc.perform(authenticated(patch("/api/games/{id}", id))
+                    .contentType("application/merge-patch+json").content(patch))
+                .andExpect(status().isBadRequest());
+        }
+    }
+
+    private String libraryEtag() throws Exception {
+        return mockMvc.perform(authenticated(get("/api/games")))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private String gameEtag(long id) throws Exception {
+        return mockMvc.perform(authenticated(get("/api/games/{id}", id)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private long addGame(String title) throws Exception {
+        String json = mockMvc.perform(authenticated(post("/api/games")).content(GAME.formatted(title)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).path("id").asLong();
+    }
+
+    private MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder request) {
+        return request
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .with(csrf());
+    }
+}
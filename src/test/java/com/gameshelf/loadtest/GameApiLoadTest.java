@@ -0,0 +1,260 @@
+package com.gameshelf.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Load test replaying the API calls of the Insomnia export against the whole application,
+ * started on a random port with the in-memory H2 database. Each virtual user registers and
+ * logs in, then repeatedly adds, lists, updates and deletes a game. Latencies are reported
+ * per endpoint to {@code target/loadtest/report.json}.
+ * <p>
+ * Skipped by a normal build; run it with {@code mvn test -Dtest=GameApiLoadTest -Dloadtest=true},
+ * tuned with {@code -Dloadtest.users}, {@code -Dloadtest.iterations}, {@code -Dloadtest.rate}
+ * (requests per second across all users, 0 for as fast as possible), {@code -Dloadtest.warmup-iterations},
+ * {@code -Dloadtest.seed-games}, {@code -Dloadtest.max-error-rate} and {@code -Dloadtest.report}.
+ * When a rate is set, latency is measured from the time each request was due rather than sent,
+ * so a slow response does not hide the requests queued behind it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "app.security.login-throttle.enabled=false",
+    "app.security.password-hashing.queue-capacity=1000",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.gameshelf=WARN",
+    "logging.level.org.springframework=WARN",
+    "logging.level.org.springframework.security=WARN",
+    "logging.level.org.springframework.web=WARN",
+    "logging.level.org.hibernate.SQL=WARN",
+    "logging.level.org.hibernate.type.descriptor.sql=WARN",
+    "logging.level.org.hibernate.stat=WARN"
+})
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class GameApiLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(GameApiLoadTest.class);
+
+    private static final Path INSOMNIA_EXPORT = Path.of("Insomnia", "Insomnia_2025-02-18.json");
+
+    private static final String REGISTER = "POST /api/auth/register";
+    private static final String LOGIN = "POST /api/auth/login";
+    private static final String ADD_GAME = "POST /api/games";
+    private static final String LIST_GAMES = "GET /api/games";
+    private static final String UPDATE_GAME = "PUT /api/games/{id}";
+    private static final String DELETE_GAME = "DELETE /api/games/{id}";
+
+    // The Insomnia environment's password predates the special character rule
+    private static final String PASSWORD = "Testpassword123!";
+
+    private final int users = Integer.getInteger("loadtest.users", 8);
+    private final int iterations = Integer.getInteger("loadtest.iterations", 25);
+    private final int warmupIterations = Integer.getInteger("loadtest.warmup-iterations", 5);
+    private final int seedGames = Integer.getInteger("loadtest.seed-games", 50);
+    private final double rate = Double.parseDouble(System.getProperty("loadtest.rate", "0"));
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0"));
+    private final Path reportFile = Path.of(System.getProperty("loadtest.report", "target/loadtest/report.json"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void replayInsomniaScenarios() throws Exception {
+        InsomniaScenario scenario = InsomniaScenario.load(INSOMNIA_EXPORT, objectMapper);
+        LatencyReport report = new LatencyReport();
+        // Users take turns: each sends one request per interval, together the configured rate
+        long intervalNanos = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * users / rate) : 0;
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                VirtualUser user = new VirtualUser("load" + i, scenario, report, intervalNanos);
+                runs.add(executor.submit(() -> {
+                    user.run();
+                    return null;
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("users", users);
+        config.put("iterations", iterations);
+        config.put("warmupIterations", warmupIterations);
+        config.put("seedGames", seedGames);
+        config.put("rate", rate);
+        config.put("processors", Runtime.getRuntime().availableProcessors());
+        report.write(reportFile, config, elapsedSeconds);
+        log.warn("Load test sent {} requests in {}s with {} errors, report written to {}",
+            report.totalRequests(), String.format("%.1f", elapsedSeconds), report.totalErrors(), reportFile.toAbsolutePath());
+
+        assertThat(report.totalRequests()).isPositive();
+        assertThat((double) report.totalErrors() / report.totalRequests()).isLessThanOrEqualTo(maxErrorRate);
+    }
+
+    /**
+     * One simulated client: its own cookies, token and games, used from a single thread.
+     */
+    private final class VirtualUser {
+
+        private final String username;
+        private final InsomniaScenario scenario;
+        private final LatencyReport report;
+        private final long intervalNanos;
+        private final CookieManager cookies = new CookieManager();
+        private final HttpClient client;
+        private String token;
+        private long nextDue;
+
+        VirtualUser(String username, InsomniaScenario scenario, LatencyReport report, long intervalNanos) {
+            this.username = username;
+            this.scenario = scenario;
+            this.report = report;
+            this.intervalNanos = intervalNanos;
+            this.client = HttpClient.newBuilder().cookieHandler(cookies).connectTimeout(Duration.ofSeconds(10)).build();
+        }
+
+        void run() throws Exception {
+            Map<String, String> variables = Map.of(
+                "username", username, "email", username + "@loadtest.example", "password", PASSWORD);
+            nextDue = System.nanoTime();
+            send(REGISTER, "POST", "/api/auth/register", scenario.body(REGISTER, variables), true);
+            HttpResponse<String> login = send(LOGIN, "POST", "/api/auth/login", scenario.body(LOGIN, variables), true);
+            if (login.statusCode() != 200) {
+                throw new IllegalStateException("Login of " + username + " failed with status " + login.statusCode());
+            }
+            token = objectMapper.readTree(login.body()).path("token").asText();
+            seedGames();
+
+            for (int i = 0; i < warmupIterations + iterations; i++) {
+                iteration(i, i >= warmupIterations);
+            }
+        }
+
+        private void seedGames() throws Exception {
+            if (seedGames == 0) {
+                return;
+            }
+            JsonNode template = objectMapper.readTree(scenario.body(ADD_GAME, Map.of()));
+            List<JsonNode> games = new ArrayList<>(seedGames);
+            for (int i = 0; i < seedGames; i++) {
+                games.add(((ObjectNode) template.deepCopy())
+                    .put("title", template.path("title").asText() + " seed " + i));
+            }
+            HttpResponse<String> response = send("POST /api/games/batch", "POST", "/api/games/batch",
+                objectMapper.writeValueAsString(games), false);
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding games for " + username + " failed with status " + response.statusCode());
+            }
+        }
+
+        private void iteration(int i, boolean recorded) throws Exception {
+            JsonNode game = objectMapper.readTree(scenario.body(ADD_GAME, Map.of()));
+            String title = game.path("title").asText() + " " + username + " #" + i;
+            HttpResponse<String> added = send(ADD_GAME, "POST", "/api/games",
+                objectMapper.writeValueAsString(((ObjectNode) game).put("title", title)),
+                recorded);
+            send(LIST_GAMES, "GET", "/api/games", null, recorded);
+            if (added.statusCode() != 200) {
+                return;
+            }
+            long id = objectMapper.readTree(added.body()).path("id").asLong();
+            JsonNode update = objectMapper.readTree(scenario.body(UPDATE_GAME, Map.of()));
+            send(UPDATE_GAME, "PUT", "/api/games/" + id,
+                objectMapper.writeValueAsString(((ObjectNode) update).put("title", title + " (edited)")),
+                recorded);
+            send(DELETE_GAME, "DELETE", "/api/games/" + id, null, recorded);
+        }
+
+        private HttpResponse<String> send(String endpoint, String method, String path, String body, boolean recorded)
+                throws IOException, InterruptedException {
+            long due = pace();
+            HttpResponse<String> response = client.send(request(method, path, body), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 403 && !"GET".equals(method) && csrfToken() != null
+                    && !response.request().headers().firstValue("X-XSRF-TOKEN").isPresent()) {
+                // The first change sets the CSRF cookie on its 403; a browser would send it back from then on
+                response = client.send(request(method, path, body), HttpResponse.BodyHandlers.ofString());
+            }
+            if (recorded) {
+                report.record(endpoint, System.nanoTime() - due, response.statusCode() < 400);
+            }
+            return response;
+        }
+
+        /** Waits for this user's next slot at the configured rate and returns when it was due. */
+        private long pace() {
+            if (intervalNanos == 0) {
+                return System.nanoTime();
+            }
+            long due = nextDue;
+            nextDue += intervalNanos;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            return due;
+        }
+
+        private HttpRequest request(String method, String path, String body) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+            if (body != null) {
+                request.header("Content-Type", "application/json");
+            }
+            if (token != null) {
+                request.header("Authorization", "Bearer " + token);
+            }
+            String csrf = csrfToken();
+            if (csrf != null && !"GET".equals(method)) {
+                request.header("X-XSRF-TOKEN", csrf);
+            }
+            return request.build();
+        }
+
+        private String csrfToken() {
+            return cookies.getCookieStore().getCookies().stream()
+                .filter(cookie -> "XSRF-TOKEN".equals(cookie.getName()))
+                .map(HttpCookie::getValue)
+                .findFirst()
+                .orElse(null);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.gameshelf.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The API calls of an Insomnia export, keyed by endpoint: method and path, with numeric
+ * path segments replaced by {@code {id}}, e.g. {@code PUT /api/games/{id}}. Bodies keep
+ * their Insomnia template variables such as {@code {{ _.username }}}.
+ */
+final class InsomniaScenario {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{\\s*_\\.(\\w+)\\s*}}");
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final Map<String, String> bodies = new LinkedHashMap<>();
+
+    private InsomniaScenario() {
+    }
+
+    static InsomniaScenario load(Path export, ObjectMapper objectMapper) throws IOException {
+        InsomniaScenario scenario = new InsomniaScenario();
+        for (JsonNode resource : objectMapper.readTree(export.toFile()).path("resources")) {
+            if (!"request".equals(resource.path("_type").asText())) {
+                continue;
+            }
+            String path = NUMERIC_SEGMENT.matcher(URI.create(resource.path("url").asText()).getPath()).replaceAll("/{id}");
+            scenario.bodies.put(resource.path("method").asText() + " " + path, resource.path("body").path("text").asText(""));
+        }
+        return scenario;
+    }
+
+    /**
+     * Returns the body of an endpoint's request with its template variables filled in.
+     *
+     * @throws IllegalStateException if the export has no request for the endpoint
+     */
+    String body(String endpoint, Map<String, String> variables) {
+        String template = bodies.get(endpoint);
+        if (template == null) {
+            throw new IllegalStateException("Insomnia export has no request for " + endpoint + "; found " + bodies.keySet());
+        }
+        Matcher matcher = VARIABLE.matcher(template);
+        StringBuilder body = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(body, Matcher.quoteReplacement(variables.getOrDefault(matcher.group(1), "")));
+        }
+        matcher.appendTail(body);
+        return body.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package com.gameshelf.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Latency histograms and error counts per endpoint, written as a JSON file with stable
+ * key order so reports of two builds can be diffed.
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Histogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean success) {
+        latencies.computeIfAbsent(endpoint, e -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3))
+            .recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            errors.computeIfAbsent(endpoint, e -> new LongAdder()).increment();
+        }
+    }
+
+    long totalRequests() {
+        return latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    long totalErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    void write(Path file, Map<String, Object> config, double elapsedSeconds) throws IOException {
+        Map<String, Object> endpoints = new TreeMap<>();
+        latencies.forEach((endpoint, histogram) -> {
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+            latency.put("p95", millis(histogram.getValueAtPercentile(95)));
+            latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+            latency.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+            latency.put("max", millis(histogram.getMaxValue()));
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", histogram.getTotalCount());
+            stats.put("errors", errors.containsKey(endpoint) ? errors.get(endpoint).sum() : 0);
+            stats.put("throughputPerSecond", round(histogram.getTotalCount() / elapsedSeconds));
+            stats.put("latencyMillis", latency);
+            endpoints.put(endpoint, stats);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", new TreeMap<>(config));
+        report.put("elapsedSeconds", round(elapsedSeconds));
+        report.put("requests", totalRequests());
+        report.put("errors", totalErrors());
+        report.put("endpoints", endpoints);
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
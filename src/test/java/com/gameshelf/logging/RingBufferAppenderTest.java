@@ -0,0 +1,114 @@
+package com.gameshelf.logging;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+
+class RingBufferAppenderTest {
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final Logger logger = context.getLogger(RingBufferAppenderTest.class);
+    private final RecordingAppender recorded = new RecordingAppender();
+    private final RingBufferAppender appender = new RingBufferAppender();
+
+    @BeforeEach
+    void setUp() {
+        recorded.setContext(context);
+        recorded.start();
+        appender.setContext(context);
+        appender.setName("ring");
+        appender.addAppender(recorded);
+    }
+
+    @AfterEach
+    void tearDown() {
+        appender.stop();
+    }
+
+    @Test
+    void append_shouldDeliverEveryEventOfConcurrentProducersInOrderPerThread() throws Exception {
+        appender.setCapacity(1 << 16);
+        appender.start();
+        int threads = 4;
+        int eventsPerThread = 5_000;
+
+        Thread[] producers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int producer = t;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < eventsPerThread; i++) {
+                    appender.doAppend(event(producer + ":" + i));
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        appender.stop();
+
+        assertThat(recorded.events).hasSize(threads * eventsPerThread);
+        int[] next = new int[threads];
+        for (ILoggingEvent event : recorded.events) {
+            String[] parts = event.getFormattedMessage().split(":");
+            int producer = Integer.parseInt(parts[0]);
+            assertThat(Integer.parseInt(parts[1])).isEqualTo(next[producer]++);
+        }
+    }
+
+    @Test
+    void append_shouldDropEventsWithoutBlocking_whenBufferIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        recorded.blockUntil = release;
+        appender.setCapacity(4);
+        appender.start();
+
+        // The first event occupies the writer, the next four fill the buffer
+        for (int i = 0; i < 10; i++) {
+            appender.doAppend(event("event " + i));
+        }
+        assertThat(appender.getDroppedCount()).isBetween(5L, 6L);
+
+        release.countDown();
+        appender.stop();
+        assertThat(recorded.events).extracting(ILoggingEvent::getFormattedMessage)
+            .contains("event 0", "event 1")
+            .anyMatch(message -> message.startsWith("Log buffer full, dropped"));
+    }
+
+    private ILoggingEvent event(String message) {
+        return new LoggingEvent(RingBufferAppenderTest.class.getName(), logger, Level.INFO, message, null, null);
+    }
+
+    private static final class RecordingAppender extends AppenderBase<ILoggingEvent> {
+
+        private final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch blockUntil;
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            events.add(event);
+            if (blockUntil != null) {
+                try {
+                    blockUntil.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.gameshelf.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+
+class QueryBudgetFilterTest {
+
+    private final QueryCounter queryCounter = new QueryCounter();
+
+    @Test
+    void doFilter_shouldReportStatementCountInHeader() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new QueryBudgetFilter(queryCounter, true, true).doFilter(request("twoQueries"), response, runningQueries(2));
+
+        assertThat(response.getHeader(QueryBudgetFilter.QUERY_COUNT_HEADER)).isEqualTo("2");
+        assertThat(queryCounter.current()).isEqualTo(-1);
+    }
+
+    @Test
+    void doFilter_shouldFail_whenBudgetIsExceededAndFailingIsEnabled() {
+        QueryBudgetFilter filter = new QueryBudgetFilter(queryCounter, true, true);
+
+        assertThatThrownBy(() -> filter.doFilter(request("twoQueries"), new MockHttpServletResponse(), runningQueries(3)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("ran 3 SQL statements, over its budget of 2");
+    }
+
+    @Test
+    void doFilter_shouldOnlyWarn_whenFailingIsDisabled() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new QueryBudgetFilter(queryCounter, false, false).doFilter(request("twoQueries"), response, runningQueries(3));
+
+        assertThat(response.getHeader(QueryBudgetFilter.QUERY_COUNT_HEADER)).isNull();
+    }
+
+    @QueryBudget(2)
+    void twoQueries() {
+    }
+
+    private MockHttpServletRequest request(String handlerMethod) throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/games");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+            new HandlerMethod(this, QueryBudgetFilterTest.class.getDeclaredMethod(handlerMethod)));
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/games");
+        return request;
+    }
+
+    private FilterChain runningQueries(int statements) {
+        return (request, response) -> {
+            for (int i = 0; i < statements; i++) {
+                queryCounter.inspect("select 1");
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.gameshelf.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * MockMvc assertions on the number of SQL statements a request ran, read from the
+ * {@code X-Query-Count} header, for pinning the query cost of an endpoint:
+ * <pre>
+ * mockMvc.perform(get("/api/games/{id}", id)).andExpect(queryCount(1));
+ * </pre>
+ */
+public final class QueryCountMatchers {
+
+    private QueryCountMatchers() {
+    }
+
+    public static ResultMatcher queryCount(int expected) {
+        return result -> assertThat(count(result)).as(description(result)).isEqualTo(expected);
+    }
+
+    /**
+     * For requests whose count legitimately varies, such as inserts that occasionally
+     * fetch a new block of ids from a sequence.
+     */
+    public static ResultMatcher queryCountAtMost(int maximum) {
+        return result -> assertThat(count(result)).as(description(result)).isLessThanOrEqualTo(maximum);
+    }
+
+    private static int count(MvcResult result) {
+        String header = result.getResponse().getHeader(QueryBudgetFilter.QUERY_COUNT_HEADER);
+        assertThat(header).as("%s header", QueryBudgetFilter.QUERY_COUNT_HEADER).isNotNull();
+        return Integer.parseInt(header);
+    }
+
+    private static String description(MvcResult result) {
+        MockHttpServletRequest request = result.getRequest();
+        return "SQL statements run by " + request.getMethod() + " " + request.getRequestURI();
+    }
+}
@@ -0,0 +1,129 @@
+package com.gameshelf.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.gameshelf.dto.FacetCount;
+import com.gameshelf.dto.GameCursor;
+import com.gameshelf.dto.GameField;
+import com.gameshelf.dto.GameFields;
+import com.gameshelf.model.Game;
+import com.gameshelf.model.User;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class GameRepositoryTest {
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User otherUser;
+
+    private User createUser(String name) {
+        Set<String> roles = new HashSet<>();
+        roles.add("ROLE_USER");
+
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("password123");
+        user.setRoles(roles);
+        return userRepository.save(user);
+    }
+
+    private Game createGame(User user, String title) {
+        Game game = new Game();
+        game.setTitle(title);
+        game.setGenre("RPG");
+        game.setPlatform("PC");
+        game.setUser(user);
+        return gameRepository.save(game);
+    }
+
+    @BeforeEach
+    void setUp() {
+        gameRepository.deleteAll();
+        userRepository.deleteAll();
+        owner = createUser("owner");
+        otherUser = createUser("other");
+        for (String title : List.of("Celeste", "Abzu", "Hades", "Doom", "Braid")) {
+            createGame(owner, title);
+        }
+        createGame(otherUser, "Control");
+    }
+
+    @Test
+    void whenPagingWithCursor_thenAllGamesReturnedInTitleOrderOnce() {
+        List<String> titles = new ArrayList<>();
+
+        List<Game> page = gameRepository.findFirstPage(owner.getId(), Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(game -> titles.add(game.getTitle()));
+            GameCursor cursor = GameCursor.decode(GameCursor.after(page.get(page.size() - 1)).encode());
+            page = gameRepository.findPageAfter(owner.getId(), cursor.title(), cursor.id(), Limit.of(2));
+        }
+
+        assertThat(titles).containsExactly("Abzu", "Braid", "Celeste", "Doom", "Hades");
+    }
+
+    @Test
+    void whenFindFirstPage_thenOnlyOwnersGamesReturned() {
+        List<Game> page = gameRepository.findFirstPage(otherUser.getId(), Limit.of(10));
+
+        assertThat(page).extracting(Game::getTitle).containsExactly("Control");
+    }
+
+    @Test
+    void whenFindPageFields_thenOnlyRequestedFieldsReturnedWithCursorPosition() {
+        List<GameFields> page = gameRepository.findPageFields(owner.getId(), null,
+            GameField.parse("title,platform"), 2);
+
+        assertThat(page).hasSize(2);
+        assertThat(page.get(0).values()).containsOnlyKeys("title", "platform");
+        assertThat(page.get(1).position().title()).isEqualTo("Braid");
+
+        List<GameFields> next = gameRepository.findPageFields(owner.getId(), page.get(1).position(),
+            GameField.parse("title"), 10);
+        assertThat(next).extracting(row -> row.values().get("title")).containsExactly("Celeste", "Doom", "Hades");
+    }
+
+    @Test
+    void whenFindFieldsByIdOfOtherUsersGame_thenEmpty() {
+        Game game = gameRepository.findFirstPage(owner.getId(), Limit.of(1)).get(0);
+
+        assertThat(gameRepository.findFieldsById(game.getId(), owner.getId(), GameField.parse("notes"))).isPresent();
+        assertThat(gameRepository.findFieldsById(game.getId(), otherUser.getId(), GameField.parse("notes"))).isEmpty();
+    }
+
+    @Test
+    void whenCountingFacets_thenOnlyOwnersGamesAreGroupedWithNullBucketsLast() {
+        Game hades = gameRepository.findByTitle("Hades").get(0);
+        hades.setPlatform("Switch");
+        hades.setRating(4.5);
+        hades.setReleaseDate(LocalDate.of(2020, 9, 17));
+        gameRepository.save(hades);
+
+        assertThat(gameRepository.countByGenre(owner.getId())).containsExactly(new FacetCount<>("RPG", 5L));
+        assertThat(gameRepository.countByPlatform(owner.getId()))
+            .containsExactly(new FacetCount<>("PC", 4L), new FacetCount<>("Switch", 1L));
+        assertThat(gameRepository.countByRating(owner.getId()))
+            .containsExactly(new FacetCount<>(4, 1L), new FacetCount<>(null, 4L));
+        assertThat(gameRepository.countByReleaseYear(owner.getId()))
+            .containsExactly(new FacetCount<>(2020, 1L), new FacetCount<>(null, 4L));
+    }
+}
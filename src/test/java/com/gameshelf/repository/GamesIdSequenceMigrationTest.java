@@ -0,0 +1,72 @@
+package com.gameshelf.repository;
+
+import org.flywaydb.core.Flyway;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Migrates a database holding games created under the old IDENTITY column,
+ * to check that V3 starts the pooled id sequence clear of the existing ids.
+ */
+class GamesIdSequenceMigrationTest {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Test
+    void migration_shouldRestartSequenceAboveExistingIds_whenGamesExist() {
+        DriverManagerDataSource dataSource = dataSource("games_seq_existing");
+        flyway(dataSource, "2").migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Long userId = jdbc.queryForObject("SELECT id FROM users WHERE username = 'testuser'", Long.class);
+        jdbc.update("INSERT INTO games (id, title, genre, platform, user_id) VALUES (7, 'Doom', 'FPS', 'PC', ?)", userId);
+        jdbc.update("INSERT INTO games (id, title, genre, platform, user_id) VALUES (120, 'Hades', 'Roguelike', 'PC', ?)", userId);
+
+        flyway(dataSource, "3").migrate();
+
+        // Hibernate's pooled optimizer hands out the block of ids ending at each sequence value
+        long next = jdbc.queryForObject("SELECT NEXT VALUE FOR games_seq", Long.class);
+        assertThat(next - ALLOCATION_SIZE + 1).isGreaterThan(120);
+        assertThat(jdbc.queryForObject("SELECT NEXT VALUE FOR games_seq", Long.class)).isEqualTo(next + ALLOCATION_SIZE);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM games", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void migration_shouldStartSequenceAtOne_whenNoGamesExist() {
+        JdbcTemplate jdbc = new JdbcTemplate(migrated("games_seq_empty"));
+
+        assertThat(jdbc.queryForObject("SELECT NEXT VALUE FOR games_seq", Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    void migration_shouldRemoveIdentityDefault() {
+        JdbcTemplate jdbc = new JdbcTemplate(migrated("games_seq_identity"));
+        Long userId = jdbc.queryForObject("SELECT id FROM users WHERE username = 'testuser'", Long.class);
+
+        // Ids must come from the sequence; an insert without one is a bug, not a silently generated row
+        assertThatThrownBy(() -> jdbc.update(
+                "INSERT INTO games (title, genre, platform, user_id) VALUES ('Doom', 'FPS', 'PC', ?)", userId))
+            .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private static DriverManagerDataSource migrated(String name) {
+        DriverManagerDataSource dataSource = dataSource(name);
+        flyway(dataSource, "3").migrate();
+        return dataSource;
+    }
+
+    private static DriverManagerDataSource dataSource(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static Flyway flyway(DriverManagerDataSource dataSource, String target) {
+        return Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration")
+            .target(target)
+            .load();
+    }
+}
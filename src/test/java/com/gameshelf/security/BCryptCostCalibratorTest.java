@@ -0,0 +1,22 @@
+package com.gameshelf.security;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+class BCryptCostCalibratorTest {
+
+    @Test
+    void costFor_shouldPickHighestCostWithinTarget() {
+        // Cost 6 took 1ms: cost 12 takes 64ms, cost 13 would take 128ms
+        assertThat(BCryptCostCalibrator.costFor(Duration.ofMillis(100), Duration.ofMillis(1), 4, 20)).isEqualTo(12);
+        assertThat(BCryptCostCalibrator.costFor(Duration.ofMillis(128), Duration.ofMillis(1), 4, 20)).isEqualTo(13);
+    }
+
+    @Test
+    void costFor_shouldStayWithinBounds() {
+        assertThat(BCryptCostCalibrator.costFor(Duration.ofMillis(100), Duration.ofMillis(50), 10, 14)).isEqualTo(10);
+        assertThat(BCryptCostCalibrator.costFor(Duration.ofSeconds(10), Duration.ofNanos(1000), 10, 14)).isEqualTo(14);
+    }
+}
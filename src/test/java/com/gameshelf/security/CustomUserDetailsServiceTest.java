@@ -0,0 +1,108 @@
+package com.gameshelf.security;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.gameshelf.model.Game;
+import com.gameshelf.model.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Guards the cost of authentication, which runs on every API request:
+ * loading a user must read the user and its roles only, never its games.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({CustomUserDetailsService.class, SimpleMeterRegistry.class})
+class CustomUserDetailsServiceTest {
+
+    private static final int LIBRARY_SIZE = 25;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private SimpleMeterRegistry meterRegistry;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User("collector", "collector@example.com", "password123", Set.of("ROLE_USER", "ROLE_ADMIN"));
+        entityManager.persist(user);
+        for (int i = 0; i < LIBRARY_SIZE; i++) {
+            Game game = new Game();
+            game.setTitle("Game " + i);
+            game.setGenre("RPG");
+            game.setPlatform("PC");
+            game.setUser(user);
+            entityManager.persist(game);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void loadUserByUsername_shouldLoadUserAndRolesInOneQueryWithoutGames() {
+        UserDetails details = userDetailsService.loadUserByUsername("collector");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionLoadCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(Game.class.getName()).getLoadCount()).isZero();
+
+        User user = (User) details;
+        assertThat(Hibernate.isInitialized(user.getRoles())).isTrue();
+        assertThat(Hibernate.isInitialized(user.getGames())).isFalse();
+        assertThat(details.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+            .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void loadUserByUsername_shouldTimeLookupsByResult() {
+        userDetailsService.loadUserByUsername("collector");
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("nobody"))
+            .isInstanceOf(UsernameNotFoundException.class);
+
+        assertThat(meterRegistry.get("security.principal.load").tag("result", "found").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("security.principal.load").tag("result", "not_found").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void updatePassword_shouldStoreRehashedPassword() {
+        UserDetails details = userDetailsService.loadUserByUsername("collector");
+
+        UserDetails updated = userDetailsService.updatePassword(details, "{bcrypt}rehashed");
+        entityManager.clear();
+
+        assertThat(updated.getPassword()).isEqualTo("{bcrypt}rehashed");
+        assertThat(userDetailsService.loadUserByUsername("collector").getPassword()).isEqualTo("{bcrypt}rehashed");
+    }
+}
@@ -0,0 +1,69 @@
+package com.gameshelf.security;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import com.gameshelf.security.JwtKeyProperties.Algorithm;
+
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtKeyRingTest {
+
+    private static final String OLD_SECRET = "oldSecretKeyForTestsThatIsLongEnoughForHmac256";
+    private static final String NEW_SECRET = "newSecretKeyForTestsThatIsLongEnoughForHmac256";
+
+    @Test
+    void rotation_shouldKeepAcceptingTokensSignedWithTheOldKey() {
+        JwtUtil before = jwtUtil(ring(null, hmac("default", OLD_SECRET)));
+        String legacyToken = before.generateToken("testuser");
+
+        JwtUtil after = jwtUtil(ring("2026-10", hmac("default", OLD_SECRET), hmac("2026-10", NEW_SECRET)));
+        String newToken = after.generateToken("testuser");
+
+        assertThat(after.verify(legacyToken).subject()).isEqualTo("testuser");
+        assertThat(after.verify(newToken).subject()).isEqualTo("testuser");
+        assertThatThrownBy(() -> before.verify(newToken)).isInstanceOf(SecurityException.class);
+    }
+
+    @Test
+    void asymmetricKeys_shouldSignAndVerifyAndBePublished() {
+        for (Algorithm algorithm : List.of(Algorithm.ES256, Algorithm.EDDSA)) {
+            JwtKeyProperties.Key key = new JwtKeyProperties.Key();
+            key.setId("edge-" + algorithm);
+            key.setAlgorithm(algorithm);
+            JwtKeyRing ring = ring(null, hmac("default", OLD_SECRET), key);
+
+            JwtUtil jwtUtil = jwtUtil(ring);
+            assertThat(jwtUtil.verify(jwtUtil.generateToken("testuser")).subject()).isEqualTo("testuser");
+
+            List<Map<String, Object>> jwks = ring.publicJwks();
+            assertThat(jwks).singleElement().satisfies(jwk -> {
+                assertThat(jwk).containsEntry("kid", "edge-" + algorithm).containsEntry("use", "sig");
+                assertThat(jwk).doesNotContainKeys("d", "k");
+            });
+        }
+    }
+
+    private static JwtUtil jwtUtil(JwtKeyRing ring) {
+        return new JwtUtil(3_600_000, ring, new TokenRevocationStore(16), new SimpleMeterRegistry(), 100);
+    }
+
+    private static JwtKeyRing ring(String signingKeyId, JwtKeyProperties.Key... keys) {
+        JwtKeyProperties properties = new JwtKeyProperties();
+        properties.setSigningKeyId(signingKeyId);
+        properties.setKeys(List.of(keys));
+        return new JwtKeyRing(properties, "");
+    }
+
+    private static JwtKeyProperties.Key hmac(String id, String secret) {
+        JwtKeyProperties.Key key = new JwtKeyProperties.Key();
+        key.setId(id);
+        key.setSecret(secret);
+        return key;
+    }
+}
@@ -0,0 +1,139 @@
+package com.gameshelf.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "secretKeyForJwtUtilTestsThatIsLongEnoughForHmac256";
+
+    private final JwtKeyRing keyRing = keyRing();
+    private final TokenRevocationStore revocationStore = new TokenRevocationStore(16);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtUtil jwtUtil = new JwtUtil(3_600_000, keyRing, revocationStore, meterRegistry, 100);
+
+    @Test
+    void verify_shouldRejectSignedToken_whenExpirationIsMissing() {
+        String token = signed(Jwts.builder().subject("testuser").issuedAt(new Date()));
+
+        assertThatThrownBy(() -> jwtUtil.verify(token))
+            .isInstanceOf(JwtException.class)
+            .hasMessage("JWT token has no exp claim");
+    }
+
+    @Test
+    void verify_shouldRejectSignedToken_whenIssuedAtIsMissing() {
+        String token = signed(Jwts.builder().subject("testuser").expiration(Date.from(Instant.now().plusSeconds(60))));
+
+        assertThatThrownBy(() -> jwtUtil.verify(token))
+            .isInstanceOf(JwtException.class)
+            .hasMessage("JWT token has no iat claim");
+    }
+
+    @Test
+    void verify_shouldServeRepeatedTokenFromCacheWithoutParsingAgain() {
+        String token = jwtUtil.generateToken("testuser", List.of("ROLE_USER"));
+
+        VerifiedToken first = jwtUtil.verify(token);
+        VerifiedToken second = jwtUtil.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.roles()).containsExactly("ROLE_USER");
+        assertThat(meterRegistry.get("jwt.verification").tags("cache", "hit", "outcome", "success").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void verify_shouldRejectCachedToken_onceItExpires() throws Exception {
+        JwtUtil shortLived = new JwtUtil(1_500, keyRing, revocationStore, meterRegistry, 100);
+        String token = shortLived.generateToken("testuser");
+        Instant expiresAt = shortLived.verify(token).expiresAt();
+
+        Thread.sleep(Math.max(0, Duration.between(Instant.now(), expiresAt).toMillis()) + 50);
+
+        assertThatThrownBy(() -> shortLived.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void verify_shouldRejectCachedToken_onceItIsRevoked() {
+        String token = jwtUtil.generateToken("testuser");
+        VerifiedToken verified = jwtUtil.verify(token);
+
+        revocationStore.revoke(verified.id(), verified.expiresAt());
+
+        assertThatThrownBy(() -> jwtUtil.verify(token))
+            .isInstanceOf(JwtException.class)
+            .hasMessage("JWT token has been revoked");
+        assertThat(meterRegistry.get("jwt.verification").tags("cache", "hit", "outcome", "revoked").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void extractRolesAndExpiration_shouldRejectRevokedToken() {
+        String token = jwtUtil.generateToken("testuser", List.of("ROLE_USER"));
+        VerifiedToken verified = jwtUtil.verify(token);
+        assertThat(jwtUtil.extractRoles(token)).containsExactly("ROLE_USER");
+        assertThat(jwtUtil.extractExpiration(token).toInstant()).isEqualTo(verified.expiresAt());
+
+        revocationStore.revoke(verified.id(), verified.expiresAt());
+
+        assertThat(jwtUtil.extractRoles(token)).isEmpty();
+        assertThatThrownBy(() -> jwtUtil.extractExpiration(token))
+            .isInstanceOf(JwtException.class)
+            .hasMessage("JWT token has been revoked");
+    }
+
+    @Test
+    void verify_shouldTagRejectionsWithTheirReason() {
+        String token = jwtUtil.generateToken("testuser");
+        String otherKeyToken = Jwts.builder().subject("testuser").issuedAt(new Date())
+            .expiration(Date.from(Instant.now().plusSeconds(60)))
+            .header().keyId("default").and()
+            .signWith(Keys.hmacShaKeyFor("anotherSecretKeyThatIsAlsoLongEnoughForHmac256".getBytes(StandardCharsets.UTF_8)))
+            .compact();
+        String expired = signed(Jwts.builder().subject("testuser")
+            .issuedAt(Date.from(Instant.now().minusSeconds(120))).expiration(Date.from(Instant.now().minusSeconds(60))));
+
+        assertThatThrownBy(() -> jwtUtil.verify("")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> jwtUtil.verify("not-a-token")).isInstanceOf(MalformedJwtException.class);
+        assertThatThrownBy(() -> jwtUtil.verify(otherKeyToken)).isInstanceOf(SecurityException.class);
+        assertThatThrownBy(() -> jwtUtil.verify(expired)).isInstanceOf(ExpiredJwtException.class);
+        jwtUtil.verify(token);
+
+        for (String outcome : List.of("empty", "malformed", "invalid_signature", "expired", "success")) {
+            assertThat(meterRegistry.get("jwt.verification").tags("cache", "miss", "outcome", outcome).timer().count())
+                .as(outcome)
+                .isEqualTo(1);
+        }
+    }
+
+    private String signed(JwtBuilder builder) {
+        JwtKeyRing.JwtKey key = keyRing.signingKey();
+        return builder.header().keyId(key.id()).and().signWith(key.signingKey()).compact();
+    }
+
+    private static JwtKeyRing keyRing() {
+        JwtKeyProperties.Key key = new JwtKeyProperties.Key();
+        key.setId("default");
+        key.setSecret(SECRET);
+        JwtKeyProperties properties = new JwtKeyProperties();
+        properties.setKeys(List.of(key));
+        return new JwtKeyRing(properties, "");
+    }
+}
@@ -0,0 +1,52 @@
+package com.gameshelf.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.gameshelf.exception.TooManyLoginAttemptsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginThrottleTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        loginThrottle = new LoginThrottle(new SimpleMeterRegistry(), true, 2, Duration.ofSeconds(10),
+            3, Duration.ofSeconds(1), 100, clock::get);
+    }
+
+    @Test
+    void check_shouldRefuseIdentifierOverItsLimitUntilItRefills() {
+        loginThrottle.check("TestUser", "10.0.0.1");
+        loginThrottle.check(" testuser ", "10.0.0.2");
+
+        assertThatThrownBy(() -> loginThrottle.check("testuser", "10.0.0.3"))
+            .isInstanceOf(TooManyLoginAttemptsException.class)
+            .extracting(e -> ((TooManyLoginAttemptsException) e).getRetryAfter())
+            .isEqualTo(Duration.ofSeconds(10));
+        assertThatCode(() -> loginThrottle.check("otheruser", "10.0.0.4")).doesNotThrowAnyException();
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThatCode(() -> loginThrottle.check("testuser", "10.0.0.5")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void check_shouldRefuseAddressOverItsLimitWhateverTheUsername() {
+        loginThrottle.check("user1", "10.0.0.1");
+        loginThrottle.check("user2", "10.0.0.1");
+        loginThrottle.check("user3", "10.0.0.1");
+
+        assertThatThrownBy(() -> loginThrottle.check("user4", "10.0.0.1"))
+            .isInstanceOf(TooManyLoginAttemptsException.class);
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThatCode(() -> loginThrottle.check("user4", "10.0.0.1")).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,49 @@
+package com.gameshelf.security;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import com.gameshelf.exception.HashingCapacityExceededException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingExecutorTest {
+
+    @Test
+    void submit_shouldRefuseWork_whenThreadsAndQueueAreFull() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(meterRegistry, 1, 1, Duration.ofSeconds(2));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> running = executor.submit(() -> await(release, "running"));
+            CompletableFuture<String> queued = executor.submit(() -> await(release, "queued"));
+
+            assertThatThrownBy(() -> executor.submit(() -> "refused"))
+                .isInstanceOf(HashingCapacityExceededException.class)
+                .extracting(e -> ((HashingCapacityExceededException) e).getRetryAfter())
+                .isEqualTo(Duration.ofSeconds(2));
+            assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(running.get()).isEqualTo("running");
+            assertThat(queued.get()).isEqualTo("queued");
+            assertThat(executor.submit(() -> "accepted").get()).isEqualTo("accepted");
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    private static String await(CountDownLatch latch, String result) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package com.gameshelf.security;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.gameshelf.model.User;
+import com.gameshelf.repository.UserRepository;
+import com.gameshelf.service.UserChangedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(userRepository, meterRegistry, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void get_shouldLoadUserOnceAndServeSnapshotAfterwards() {
+        User user = new User("testuser", "test@example.com", "encoded", Set.of("ROLE_USER"));
+        user.setId(7L);
+        when(userRepository.findWithRolesByUsername("testuser")).thenReturn(Optional.of(user));
+
+        AuthenticatedUser first = principalCache.get("testuser");
+        AuthenticatedUser second = principalCache.get("testuser");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.id()).isEqualTo(7L);
+        assertThat(first.authorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+        verify(userRepository, times(1)).findWithRolesByUsername("testuser");
+        assertThat(meterRegistry.get("security.principal.load").tag("result", "found").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void onUserChanged_shouldReloadUserOnNextRequest() {
+        User user = new User("testuser", "test@example.com", "encoded", Set.of("ROLE_USER"));
+        when(userRepository.findWithRolesByUsername("testuser")).thenReturn(Optional.of(user));
+        principalCache.get("testuser");
+
+        user.setRoles(Set.of("ROLE_USER", "ROLE_ADMIN"));
+        principalCache.onUserChanged(new UserChangedEvent("testuser"));
+
+        assertThat(principalCache.get("testuser").authorities()).hasSize(2);
+        verify(userRepository, times(2)).findWithRolesByUsername("testuser");
+    }
+
+    @Test
+    void get_shouldThrow_whenUserDoesNotExist() {
+        when(userRepository.findWithRolesByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> principalCache.get("ghost")).isInstanceOf(UsernameNotFoundException.class);
+        assertThat(meterRegistry.get("security.principal.load").tag("result", "not_found").timer().count())
+            .isEqualTo(1);
+    }
+}
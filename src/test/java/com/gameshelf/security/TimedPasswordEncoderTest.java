@@ -0,0 +1,23 @@
+package com.gameshelf.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TimedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TimedPasswordEncoder encoder = new TimedPasswordEncoder(new BCryptPasswordEncoder(4), meterRegistry);
+
+    @Test
+    void encodeAndMatches_shouldDelegateAndBeTimedByOperation() {
+        String encoded = encoder.encode("password123");
+
+        assertThat(encoder.matches("password123", encoded)).isTrue();
+        assertThat(encoder.matches("wrong", encoded)).isFalse();
+        assertThat(meterRegistry.get("password.encoder").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.encoder").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+}
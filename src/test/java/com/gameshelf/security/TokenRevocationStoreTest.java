@@ -0,0 +1,63 @@
+package com.gameshelf.security;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TokenRevocationStoreTest {
+
+    private TokenRevocationStore store;
+    private long start;
+
+    @BeforeEach
+    void setUp() {
+        store = new TokenRevocationStore(16);
+        start = System.currentTimeMillis();
+    }
+
+    @Test
+    void revokedToken_shouldStayRevokedUntilItExpires() {
+        store.revoke("short", Instant.ofEpochMilli(start + 5_000));
+        store.revoke("hour", Instant.ofEpochMilli(start + 3_600_000));
+        store.revoke("week", Instant.ofEpochMilli(start + 7L * 24 * 3_600_000));
+
+        store.advanceTo(start + 4_000);
+        assertThat(store.isRevoked("short")).isTrue();
+
+        store.advanceTo(start + 7_000);
+        assertThat(store.isRevoked("short")).isFalse();
+        assertThat(store.isRevoked("hour")).isTrue();
+
+        store.advanceTo(start + 3_598_000);
+        assertThat(store.isRevoked("hour")).isTrue();
+        store.advanceTo(start + 3_602_000);
+        assertThat(store.isRevoked("hour")).isFalse();
+        assertThat(store.isRevoked("week")).isTrue();
+
+        store.advanceTo(start + 7L * 24 * 3_600_000 + 2_000);
+        assertThat(store.isRevoked("week")).isFalse();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void revoke_shouldIgnoreTokensThatAlreadyExpired() {
+        store.revoke("expired", Instant.ofEpochMilli(start - 10_000));
+
+        assertThat(store.isRevoked("expired")).isFalse();
+        assertThat(store.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void revocationFilter_shouldKeepEveryRevocationVisibleWhenItGrowsPastItsCapacity() {
+        for (int i = 0; i < 100; i++) {
+            store.revoke("token-" + i, Instant.ofEpochMilli(start + 60_000));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(store.isRevoked("token-" + i)).isTrue();
+        }
+        assertThat(store.isRevoked("token-100")).isFalse();
+    }
+}
@@ -0,0 +1,203 @@
+package com.gameshelf.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gameshelf.dto.BatchItemResult;
+import com.gameshelf.dto.BatchItemResult.Status;
+import com.gameshelf.model.Game;
+import com.gameshelf.model.User;
+import com.gameshelf.repository.GameRepository;
+import com.gameshelf.repository.UserRepository;
+import com.gameshelf.security.AuthenticatedUser;
+
+/**
+ * Runs outside a test transaction, so each chunk commits or rolls back on its own as it does in production.
+ */
+@DataJpaTest(properties = "app.games.batch.chunk-size=2")
+@ActiveProfiles("test")
+@Import({GameBatchService.class, GameBatchServiceTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GameBatchServiceTest {
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        ConcurrentInsert concurrentInsert(GameRepository gameRepository, UserRepository userRepository,
+                PlatformTransactionManager transactionManager) {
+            return new ConcurrentInsert(gameRepository, userRepository, transactionManager);
+        }
+    }
+
+    /**
+     * Stands in for another request adding a title while a chunk is being written:
+     * once armed, it commits that title right after the chunk's existing titles were read.
+     */
+    static class ConcurrentInsert {
+
+        private final GameRepository gameRepository;
+        private final UserRepository userRepository;
+        private final TransactionTemplate newTransaction;
+        private volatile Long userId;
+        private volatile String title;
+
+        ConcurrentInsert(GameRepository gameRepository, UserRepository userRepository,
+                PlatformTransactionManager transactionManager) {
+            this.gameRepository = gameRepository;
+            this.userRepository = userRepository;
+            this.newTransaction = new TransactionTemplate(transactionManager);
+            this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+
+        void arm(Long userId, String title) {
+            this.userId = userId;
+            this.title = title;
+        }
+
+        void insertIfArmed() {
+            String racedTitle = title;
+            if (racedTitle == null) {
+                return;
+            }
+            title = null;
+            newTransaction.executeWithoutResult(status ->
+                gameRepository.save(game(racedTitle, userRepository.getReferenceById(userId))));
+        }
+    }
+
+    @Autowired
+    private GameBatchService gameBatchService;
+
+    @MockitoSpyBean
+    private GameRepository gameRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ConcurrentInsert concurrentInsert;
+
+    private User owner;
+    private AuthenticatedUser principal;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User("batchowner", "batchowner@example.com", "{noop}unused", Set.of("ROLE_USER")));
+        principal = AuthenticatedUser.from(owner);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameRepository.deleteAll();
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void addGames_shouldReportEveryEntryInRequestOrderAcrossChunks() {
+        gameRepository.save(game("Owned", owner));
+        Game invalid = game("No Genre", null);
+        invalid.setGenre(null);
+
+        List<BatchItemResult> results = gameBatchService.addGames(Arrays.asList(
+            game("Celeste", null), invalid, game("Celeste", null), game("Owned", null), null, game("Hades", null)),
+            principal);
+
+        assertThat(results).extracting(BatchItemResult::getIndex).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(results).extracting(BatchItemResult::getStatus).containsExactly(
+            Status.CREATED, Status.INVALID, Status.CONFLICT, Status.CONFLICT, Status.INVALID, Status.CREATED);
+        assertThat(results).extracting(BatchItemResult::getMessage).containsExactly(
+            null, "Required game fields missing", "Duplicate title in request", "Game already in collection",
+            "Required game fields missing", null);
+        assertThat(results.get(0).getId()).isNotNull();
+        assertThat(results.get(5).getId()).isNotNull();
+        assertThat(gameRepository.findById(results.get(5).getId())).get()
+            .extracting(Game::getTitle).isEqualTo("Hades");
+        assertThat(gameRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void addGames_shouldBumpLibraryVersionOncePerCommittedChunk() {
+        long before = libraryVersion();
+
+        gameBatchService.addGames(games("A", "B", "C"), principal);
+
+        assertThat(libraryVersion()).isEqualTo(before + 2);
+    }
+
+    @Test
+    void addGames_shouldRetryEntriesIndividually_whenChunkHitsTitleConstraint() {
+        concurrentInsert.arm(owner.getId(), "Beta");
+        // The library is empty when the chunk is checked; Beta is committed just after
+        doAnswer(invocation -> {
+            concurrentInsert.insertIfArmed();
+            return Set.of();
+        }).when(gameRepository).findExistingTitles(any(), any());
+
+        List<BatchItemResult> results = gameBatchService.addGames(games("Alpha", "Beta", "Gamma"), principal);
+
+        assertThat(results).extracting(BatchItemResult::getStatus)
+            .containsExactly(Status.CREATED, Status.CONFLICT, Status.CREATED);
+        assertThat(results.get(1).getMessage()).isEqualTo("Game already in collection");
+        assertThat(gameRepository.findAll()).extracting(Game::getTitle)
+            .containsExactlyInAnyOrder("Alpha", "Beta", "Gamma");
+        for (int i : List.of(0, 2)) {
+            Long id = results.get(i).getId();
+            assertThat(id).isNotNull();
+            assertThat(gameRepository.findById(id)).get().extracting(Game::getTitle).isEqualTo(i == 0 ? "Alpha" : "Gamma");
+        }
+    }
+
+    @Test
+    void addGames_shouldIgnoreClientSuppliedIds() {
+        Game game = game("Doom", null);
+        game.setId(1L);
+
+        List<BatchItemResult> results = gameBatchService.addGames(List.of(game, game("Braid", null)), principal);
+
+        assertThat(results).extracting(BatchItemResult::getStatus).containsOnly(Status.CREATED);
+        assertThat(results).extracting(BatchItemResult::getId).doesNotHaveDuplicates().doesNotContainNull();
+    }
+
+    private long libraryVersion() {
+        return userRepository.findLibraryVersion(owner.getId()).orElseThrow().version();
+    }
+
+    private static List<Game> games(String... titles) {
+        List<Game> games = new ArrayList<>();
+        for (String title : titles) {
+            games.add(game(title, null));
+        }
+        return games;
+    }
+
+    private static Game game(String title, User user) {
+        Game game = new Game();
+        game.setTitle(title);
+        game.setGenre("RPG");
+        game.setPlatform("PC");
+        game.setUser(user);
+        return game;
+    }
+}
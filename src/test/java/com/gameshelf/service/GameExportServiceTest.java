@@ -0,0 +1,109 @@
+package com.gameshelf.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.Mockito.when;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gameshelf.dto.GameExportRow;
+import com.gameshelf.repository.GameRepository;
+import com.gameshelf.service.GameExportService.Format;
+
+@ExtendWith(MockitoExtension.class)
+class GameExportServiceTest {
+
+    private static final Long OWNER_ID = 1L;
+
+    @Mock
+    private GameRepository gameRepository;
+
+    // Configured as Spring Boot configures the application's mapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    private GameExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new GameExportService(gameRepository, objectMapper);
+    }
+
+    @Test
+    void export_shouldWriteOneJsonObjectPerLine_whenFormatIsNdjson() throws Exception {
+        when(gameRepository.streamExportRows(OWNER_ID)).thenReturn(Stream.of(
+            new GameExportRow(1L, "Celeste", "Platformer", "PC", 9.5, LocalDate.of(2018, 1, 25), "line one\nline two"),
+            new GameExportRow(2L, "Hades", "Roguelike", "Switch", null, null, null)));
+
+        String[] lines = export(Format.NDJSON).split("\n", -1);
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines[2]).isEmpty();
+        assertThat(objectMapper.readTree(lines[0]).path("title").asText()).isEqualTo("Celeste");
+        assertThat(objectMapper.readTree(lines[0]).path("releaseDate").asText()).isEqualTo("2018-01-25");
+        assertThat(objectMapper.readTree(lines[0]).path("notes").asText()).isEqualTo("line one\nline two");
+        assertThat(objectMapper.readTree(lines[1]).path("id").asLong()).isEqualTo(2L);
+        assertThat(objectMapper.readTree(lines[1]).path("rating").isNull()).isTrue();
+    }
+
+    @Test
+    void export_shouldFlushInBatchesRatherThanPerRow_whenFormatIsNdjson() throws Exception {
+        when(gameRepository.streamExportRows(OWNER_ID)).thenReturn(IntStream.rangeClosed(1, 1200)
+            .mapToObj(i -> new GameExportRow((long) i, "Game " + i, "RPG", "PC", null, null, null)));
+        FlushCountingStream out = new FlushCountingStream();
+
+        exportService.export(OWNER_ID, Format.NDJSON, out);
+
+        // Two full batches of 500 rows, then the final flush on close
+        assertThat(out.flushes).isEqualTo(3);
+        assertThat(out.toString().lines()).hasSize(1200);
+    }
+
+    @Test
+    void export_shouldQuoteFieldsWithSeparatorsQuotesAndLineBreaks_whenFormatIsCsv() throws Exception {
+        when(gameRepository.streamExportRows(OWNER_ID)).thenReturn(Stream.of(
+            new GameExportRow(1L, "Hello, World", "Puzzle", "PC", 7.0, LocalDate.of(2020, 3, 1), "say \"hi\""),
+            new GameExportRow(2L, "Plain", "RPG", "PC", null, null, "first\r\nsecond")));
+
+        assertThat(export(Format.CSV)).isEqualTo(
+            "id,title,genre,platform,rating,releaseDate,notes\r\n"
+                + "1,\"Hello, World\",Puzzle,PC,7.0,2020-03-01,\"say \"\"hi\"\"\"\r\n"
+                + "2,Plain,RPG,PC,,,\"first\r\nsecond\"\r\n");
+    }
+
+    @Test
+    void export_shouldWriteOnlyTheHeader_whenLibraryIsEmpty() throws Exception {
+        when(gameRepository.streamExportRows(OWNER_ID)).thenAnswer(invocation -> Stream.empty());
+
+        assertThat(export(Format.CSV)).isEqualTo("id,title,genre,platform,rating,releaseDate,notes\r\n");
+        assertThat(export(Format.NDJSON)).isEmpty();
+    }
+
+    private String export(Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(OWNER_ID, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static final class FlushCountingStream extends ByteArrayOutputStream {
+
+        private int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.gameshelf.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GameJsonCacheTest {
+
+    private static final Long OWNER_ID = 1L;
+    private static final Long GAME_ID = 10L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GameJsonCache cache = new GameJsonCache(new ObjectMapper(), meterRegistry,
+        DataSize.ofMegabytes(1), Duration.ofMinutes(10));
+
+    @Test
+    void getLibraryPage_shouldServeCachedPage_whileLibraryVersionIsUnchanged() {
+        CountingLoader loader = new CountingLoader("page");
+
+        cache.getLibraryPage(OWNER_ID, 1, "50||*", loader);
+        byte[] json = cache.getLibraryPage(OWNER_ID, 1, "50||*", loader);
+
+        assertThat(text(json)).isEqualTo("\"page 1\"");
+        assertThat(loader.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void getLibraryPage_shouldKeepPagesApartByKey() {
+        cache.getLibraryPage(OWNER_ID, 1, "50||*", () -> "first");
+
+        byte[] json = cache.getLibraryPage(OWNER_ID, 1, "50|cursor|*", () -> "second");
+
+        assertThat(text(json)).isEqualTo("\"second\"");
+        assertThat(text(cache.getLibraryPage(OWNER_ID, 1, "50||*", () -> "reloaded"))).isEqualTo("\"first\"");
+    }
+
+    @Test
+    void getLibraryPage_shouldReload_whenLibraryVersionChanges() {
+        cache.getLibraryPage(OWNER_ID, 1, "50||*", () -> "version 1");
+
+        assertThat(text(cache.getLibraryPage(OWNER_ID, 2, "50||*", () -> "version 2"))).isEqualTo("\"version 2\"");
+    }
+
+    @Test
+    void getLibraryPage_shouldNeverServeOrStoreStalePage_whenReaderIsBehind() {
+        cache.getLibraryPage(OWNER_ID, 2, "50||*", () -> "version 2");
+
+        // A request that read version 1 before the change loads its own page but must not replace the newer one
+        assertThat(text(cache.getLibraryPage(OWNER_ID, 1, "50||*", () -> "version 1"))).isEqualTo("\"version 1\"");
+        assertThat(text(cache.getLibraryPage(OWNER_ID, 2, "50||*", () -> "reloaded"))).isEqualTo("\"version 2\"");
+    }
+
+    @Test
+    void onGameChanged_shouldDropUsersPagesAndTheChangedGame() {
+        cache.getLibraryPage(OWNER_ID, 1, "50||*", () -> "page");
+        cache.getGame(OWNER_ID, GAME_ID, 1, () -> "game");
+        cache.getGame(OWNER_ID, 11L, 1, () -> "other game");
+
+        cache.onGameChanged(GameChangedEvent.deleted(OWNER_ID, GAME_ID));
+
+        assertThat(text(cache.getLibraryPage(OWNER_ID, 1, "50||*", () -> "reloaded page"))).isEqualTo("\"reloaded page\"");
+        assertThat(text(cache.getGame(OWNER_ID, GAME_ID, 1, () -> "reloaded game"))).isEqualTo("\"reloaded game\"");
+        assertThat(text(cache.getGame(OWNER_ID, 11L, 1, () -> "reloaded"))).isEqualTo("\"other game\"");
+    }
+
+    @Test
+    void getGame_shouldReload_whenGameVersionChangesOrOwnerDiffers() {
+        cache.getGame(OWNER_ID, GAME_ID, 1, () -> "version 1");
+
+        assertThat(text(cache.getGame(OWNER_ID, GAME_ID, 1, () -> "reloaded"))).isEqualTo("\"version 1\"");
+        assertThat(text(cache.getGame(OWNER_ID, GAME_ID, 2, () -> "version 2"))).isEqualTo("\"version 2\"");
+        assertThat(text(cache.getGame(OWNER_ID, GAME_ID, 1, () -> "stale"))).isEqualTo("\"stale\"");
+        assertThat(text(cache.getGame(2L, GAME_ID, 2, () -> "other owner"))).isEqualTo("\"other owner\"");
+    }
+
+    @Test
+    void stats_shouldCountOutdatedEntriesAsMisses() {
+        cache.getLibraryPage(OWNER_ID, 1, "50||*", () -> "version 1");
+        cache.getLibraryPage(OWNER_ID, 1, "50||*", () -> "version 1");
+        cache.getLibraryPage(OWNER_ID, 2, "50||*", () -> "version 2");
+
+        assertThat(gets("gameLibraryJson", "hit")).isEqualTo(1);
+        assertThat(gets("gameLibraryJson", "miss")).isEqualTo(2);
+    }
+
+    private double gets(String cacheName, String result) {
+        return meterRegistry.get("cache.gets").tags("cache", cacheName, "result", result).functionCounter().count();
+    }
+
+    private static String text(byte[] json) {
+        return new String(json, StandardCharsets.UTF_8);
+    }
+
+    private static final class CountingLoader implements Supplier<String> {
+
+        private final String value;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingLoader(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String get() {
+            return value + " " + calls.incrementAndGet();
+        }
+    }
+}
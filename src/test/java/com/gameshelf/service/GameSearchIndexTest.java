@@ -0,0 +1,69 @@
+package com.gameshelf.service;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.gameshelf.dto.SearchHit;
+import com.gameshelf.model.Game;
+import com.gameshelf.repository.GameRepository;
+
+@ExtendWith(MockitoExtension.class)
+class GameSearchIndexTest {
+
+    private static final Long OWNER_ID = 1L;
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private GameSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GameSearchIndex(gameRepository, transactionManager);
+        index.onGameChanged(GameChangedEvent.saved(OWNER_ID, game(1L, "The Légend of Zelda", "Adventure", "Switch", null)));
+        index.onGameChanged(GameChangedEvent.saved(OWNER_ID, game(2L, "Hollow Knight", "Metroidvania", "PC", "zelda-like map")));
+        index.onGameChanged(GameChangedEvent.saved(2L, game(3L, "Zelda II", "Action RPG", "NES", null)));
+    }
+
+    @Test
+    void search_shouldMatchPrefixesAndRankTitleMatchesFirst() {
+        List<SearchHit> hits = index.search(OWNER_ID, "ZEL", 10);
+
+        assertThat(hits).extracting(SearchHit::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void search_shouldRequireEveryTermAndIgnoreAccents() {
+        assertThat(index.search(OWNER_ID, "legend adventure", 10)).extracting(SearchHit::id).containsExactly(1L);
+        assertThat(index.search(OWNER_ID, "legend knight", 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldReflectUpdatesAndDeletes() {
+        index.onGameChanged(GameChangedEvent.saved(OWNER_ID, game(1L, "Metroid Dread", "Action", "Switch", null)));
+        index.onGameChanged(GameChangedEvent.deleted(OWNER_ID, 2L));
+
+        assertThat(index.search(OWNER_ID, "zelda", 10)).isEmpty();
+        assertThat(index.search(OWNER_ID, "metroid", 10)).extracting(SearchHit::id).containsExactly(1L);
+    }
+
+    private static Game game(Long id, String title, String genre, String platform, String notes) {
+        Game game = new Game();
+        game.setId(id);
+        game.setTitle(title);
+        game.setGenre(genre);
+        game.setPlatform(platform);
+        game.setNotes(notes);
+        return game;
+    }
+}
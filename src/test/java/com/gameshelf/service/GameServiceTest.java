@@ -0,0 +1,159 @@
+package com.gameshelf.service;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gameshelf.model.Game;
+import com.gameshelf.model.User;
+import com.gameshelf.repository.GameRepository;
+import com.gameshelf.repository.UserRepository;
+import com.gameshelf.security.AuthenticatedUser;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(GameService.class)
+@RecordApplicationEvents
+class GameServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private AuthenticatedUser owner;
+    private Game game;
+    // The patched game is the same managed instance, so its version is read before patching
+    private long initialVersion;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User("patcher", "patcher@example.com", "{noop}unused", Set.of("ROLE_USER")));
+        owner = AuthenticatedUser.from(user);
+
+        Game celeste = new Game();
+        celeste.setTitle("Celeste");
+        celeste.setGenre("Platformer");
+        celeste.setPlatform("PC");
+        celeste.setRating(9.5);
+        celeste.setReleaseDate(LocalDate.of(2018, 1, 25));
+        celeste.setNotes("Finished chapter 7");
+        celeste.setUser(user);
+        game = gameRepository.saveAndFlush(celeste);
+        initialVersion = game.getVersion();
+    }
+
+    @Test
+    void patchGame_shouldChangeOnlyTheMembersPresent() throws Exception {
+        Game patched = patch("{\"rating\": 10, \"platform\": \"Switch\"}");
+
+        assertThat(patched.getRating()).isEqualTo(10.0);
+        assertThat(patched.getPlatform()).isEqualTo("Switch");
+        assertThat(patched.getTitle()).isEqualTo("Celeste");
+        assertThat(patched.getNotes()).isEqualTo("Finished chapter 7");
+        assertThat(patched.getVersion()).isEqualTo(initialVersion + 1);
+    }
+
+    @Test
+    void patchGame_shouldClearOptionalFields_whenValueIsNull() throws Exception {
+        Game patched = patch("{\"notes\": null, \"rating\": null, \"releaseDate\": null}");
+
+        assertThat(patched.getNotes()).isNull();
+        assertThat(patched.getRating()).isNull();
+        assertThat(patched.getReleaseDate()).isNull();
+    }
+
+    @Test
+    void patchGame_shouldRejectNull_whenFieldIsRequired() {
+        for (String field : new String[] {"title", "genre", "platform"}) {
+            assertThatThrownBy(() -> patch("{\"" + field + "\": null}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(field + " must be a non-null string");
+        }
+    }
+
+    @Test
+    void patchGame_shouldRejectUnknownAndReadOnlyMembers() {
+        for (String field : new String[] {"id", "user", "version", "publisher"}) {
+            assertThatThrownBy(() -> patch("{\"" + field + "\": 1}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Field cannot be patched: " + field);
+        }
+    }
+
+    @Test
+    void patchGame_shouldRejectValuesOfTheWrongType() {
+        assertThatThrownBy(() -> patch("{\"rating\": \"great\"}"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("rating must be a number");
+        assertThatThrownBy(() -> patch("{\"releaseDate\": \"25/01/2018\"}"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> patch("[]"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Merge patch must be a JSON object");
+    }
+
+    @Test
+    void patchGame_shouldLeaveGameAndLibraryVersionUntouched_whenPatchChangesNothing() throws Exception {
+        long libraryVersion = libraryVersion();
+
+        Game patched = patch("{\"title\": \"Celeste\", \"rating\": 9.5, \"releaseDate\": \"2018-01-25\"}");
+        patch("{}");
+
+        assertThat(patched.getVersion()).isEqualTo(initialVersion);
+        assertThat(libraryVersion()).isEqualTo(libraryVersion);
+        assertThat(events.stream(GameChangedEvent.class)).isEmpty();
+    }
+
+    @Test
+    void patchGame_shouldBumpLibraryVersionAndPublishEvent_whenGameChanges() throws Exception {
+        long libraryVersion = libraryVersion();
+
+        patch("{\"notes\": \"Finished chapter 8\"}");
+
+        assertThat(libraryVersion()).isEqualTo(libraryVersion + 1);
+        assertThat(events.stream(GameChangedEvent.class)).singleElement()
+            .extracting(GameChangedEvent::gameId).isEqualTo(game.getId());
+    }
+
+    @Test
+    void patchGame_shouldReturnEmpty_whenGameBelongsToAnotherUser() throws Exception {
+        AuthenticatedUser stranger = AuthenticatedUser.from(
+            userRepository.save(new User("stranger", "stranger@example.com", "{noop}unused", Set.of("ROLE_USER"))));
+
+        assertThat(gameService.patchGame(game.getId(), json("{\"notes\": \"mine now\"}"), stranger)).isEmpty();
+    }
+
+    private Game patch(String json) throws Exception {
+        return gameService.patchGame(game.getId(), json(json), owner).orElseThrow();
+    }
+
+    private JsonNode json(String json) throws Exception {
+        return objectMapper.readTree(json);
+    }
+
+    private long libraryVersion() {
+        return userRepository.findLibraryVersion(owner.id()).orElseThrow().version();
+    }
+}
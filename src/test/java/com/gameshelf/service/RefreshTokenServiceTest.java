@@ -0,0 +1,75 @@
+package com.gameshelf.service;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.gameshelf.dto.TokenResponse;
+import com.gameshelf.model.User;
+import com.gameshelf.repository.UserRepository;
+import com.gameshelf.security.JwtUtil;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(RefreshTokenService.class)
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private JwtUtil jwtUtil;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("refreshuser", "refresh@example.com", "encoded", new HashSet<>(Set.of("ROLE_USER"))));
+        when(jwtUtil.generateToken("refreshuser")).thenReturn("access-token");
+    }
+
+    @Test
+    void rotate_shouldIssueNewTokensAndRejectTheUsedOne() {
+        String first = refreshTokenService.issue(user.getId());
+
+        Optional<TokenResponse> rotated = refreshTokenService.rotate(first);
+
+        assertThat(rotated).isPresent();
+        assertThat(rotated.get().getToken()).isEqualTo("access-token");
+        assertThat(rotated.get().getRefreshToken()).isNotEqualTo(first);
+        assertThat(refreshTokenService.rotate(rotated.get().getRefreshToken())).isPresent();
+    }
+
+    @Test
+    void rotate_shouldRevokeWholeFamily_whenUsedTokenIsPresentedAgain() {
+        String first = refreshTokenService.issue(user.getId());
+        String second = refreshTokenService.rotate(first).orElseThrow().getRefreshToken();
+
+        assertThat(refreshTokenService.rotate(first)).isEmpty();
+        assertThat(refreshTokenService.rotate(second)).isEmpty();
+    }
+
+    @Test
+    void revokeAll_shouldRevokeEveryFamilyOfTheUser() {
+        String phone = refreshTokenService.issue(user.getId());
+        String laptop = refreshTokenService.issue(user.getId());
+
+        assertThat(refreshTokenService.revokeAll(user.getId())).isEqualTo(2);
+        assertThat(refreshTokenService.rotate(phone)).isEmpty();
+        assertThat(refreshTokenService.rotate(laptop)).isEmpty();
+        assertThat(refreshTokenService.rotate("unknown")).isEmpty();
+    }
+}
@@ -0,0 +1,146 @@
+package com.gameshelf.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gameshelf.repository.TokenRevocationRepository;
+import com.gameshelf.security.TokenRevocationStore;
+import com.gameshelf.security.VerifiedToken;
+
+/**
+ * Rows are written with explicit sequence numbers and times, to replay the orders
+ * in which revocations of other nodes can become visible. Runs outside a test
+ * transaction, as revocations are written and polled in transactions of their own.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TokenRevocationServiceTest {
+
+    private static final Duration COMMIT_GRACE = Duration.ofSeconds(30);
+
+    @Autowired
+    private TokenRevocationRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Instant now = Instant.now();
+    private final Instant expiresAt = now.plus(1, ChronoUnit.HOURS);
+    private final Instant settled = now.minus(COMMIT_GRACE).minusSeconds(5);
+
+    private TokenRevocationStore store;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        store = new TokenRevocationStore(16);
+        service = new TokenRevocationService(repository, store, COMMIT_GRACE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void poll_shouldReadRecentRowsAgain_soLateCommittingLowerSeqIsApplied() {
+        insert(10, "settled", settled);
+        insert(30, "recent", now);
+        service.poll();
+        assertThat(store.isRevoked("settled")).isTrue();
+        assertThat(store.isRevoked("recent")).isTrue();
+
+        // Committed after seq 30 became visible, while still inside the grace period
+        insert(20, "late", now);
+        service.poll();
+
+        assertThat(store.isRevoked("late")).isTrue();
+    }
+
+    @Test
+    void poll_shouldMovePastSettledRows() {
+        insert(10, "first", settled);
+        insert(20, "second", settled);
+        service.poll();
+
+        // Older than the grace period, so the cursor no longer covers this position
+        insert(5, "behind-cursor", settled);
+        service.poll();
+
+        assertThat(store.isRevoked("second")).isTrue();
+        assertThat(store.isRevoked("behind-cursor")).isFalse();
+    }
+
+    @Test
+    void poll_shouldApplyEveryRowOfABurst_whenMoreThanOneBatchIsInsideTheGracePeriod() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int seq = 1; seq <= 2500; seq++) {
+            rows.add(new Object[] {seq, "burst-" + seq, Timestamp.from(expiresAt), Timestamp.from(now)});
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO token_revocations (seq, token_id, expires_at, revoked_at) VALUES (?, ?, ?, ?)", rows);
+
+        service.poll();
+
+        assertThat(store.size()).isEqualTo(2500);
+        assertThat(store.isRevoked("burst-2500")).isTrue();
+    }
+
+    @Test
+    void pollAndRevoke_shouldBeIdempotent() {
+        insert(10, "settled", settled);
+        insert(20, "recent", now);
+
+        service.poll();
+        service.poll();
+        service.revoke(new VerifiedToken("recent", "testuser", now, expiresAt, List.of()));
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(repository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void revoke_shouldPersistAndApplyLocally() {
+        service.revoke(new VerifiedToken("logged-out", "testuser", now, expiresAt, List.of()));
+
+        assertThat(store.isRevoked("logged-out")).isTrue();
+        assertThat(repository.findAll()).singleElement()
+            .satisfies(row -> assertThat(row.getTokenId()).isEqualTo("logged-out"));
+    }
+
+    @Test
+    void purgeExpired_shouldDeleteOnlyRevocationsOfExpiredTokens() {
+        insert(10, "expired", settled, now.minus(1, ChronoUnit.HOURS));
+        insert(20, "valid", settled, expiresAt);
+
+        service.purgeExpired();
+
+        assertThat(repository.findAll()).singleElement()
+            .satisfies(row -> assertThat(row.getTokenId()).isEqualTo("valid"));
+    }
+
+    private void insert(long seq, String tokenId, Instant revokedAt) {
+        insert(seq, tokenId, revokedAt, expiresAt);
+    }
+
+    private void insert(long seq, String tokenId, Instant revokedAt, Instant tokenExpiresAt) {
+        jdbcTemplate.update("INSERT INTO token_revocations (seq, token_id, expires_at, revoked_at) VALUES (?, ?, ?, ?)",
+            seq, tokenId, Timestamp.from(tokenExpiresAt), Timestamp.from(revokedAt));
+    }
+}
@@ -0,0 +1,235 @@
+package com.gameshelf.service;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gameshelf.dto.BatchItemResult;
+import com.gameshelf.dto.BatchItemResult.Status;
+import com.gameshelf.model.User;
+import com.gameshelf.repository.UserRepository;
+import com.gameshelf.security.PasswordHashingExecutor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs outside a test transaction, so each chunk commits or rolls back on its own as it does in production.
+ */
+@DataJpaTest(properties = "app.users.batch.chunk-size=2")
+@ActiveProfiles("test")
+@Import({UserProvisioningService.class, AuthService.class, UserProvisioningServiceTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserProvisioningServiceTest {
+
+    private static final int HASHING_THREADS = 2;
+    private static final int HASHING_QUEUE_CAPACITY = 2;
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        RacingPasswordEncoder passwordEncoder(UserRepository userRepository) {
+            return new RacingPasswordEncoder(userRepository);
+        }
+
+        @Bean
+        PasswordHashingExecutor passwordHashingExecutor() {
+            return new PasswordHashingExecutor(new SimpleMeterRegistry(), HASHING_THREADS, HASHING_QUEUE_CAPACITY,
+                Duration.ofMillis(20));
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    /**
+     * Stands in for a registration racing the import: once armed, it commits a user with the
+     * given name while the next password is hashed, after the chunk's names were checked.
+     */
+    static class RacingPasswordEncoder implements PasswordEncoder {
+
+        private final PasswordEncoder delegate = new BCryptPasswordEncoder(4);
+        private final AtomicReference<String> racedUsername = new AtomicReference<>();
+        private final UserRepository userRepository;
+
+        RacingPasswordEncoder(UserRepository userRepository) {
+            this.userRepository = userRepository;
+        }
+
+        void arm(String username) {
+            racedUsername.set(username);
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            String username = racedUsername.getAndSet(null);
+            if (username != null) {
+                userRepository.save(new User(username, username + "@elsewhere.example.com", "{noop}unused",
+                    Set.of("ROLE_USER")));
+            }
+            return delegate.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+    }
+
+    @Autowired
+    private UserProvisioningService userProvisioningService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RacingPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PasswordHashingExecutor hashingExecutor;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll(userRepository.findAll().stream()
+            .filter(user -> !"testuser".equals(user.getUsername()))
+            .toList());
+    }
+
+    @Test
+    void provision_shouldCreateValidUsersAndReportEveryOtherEntry() throws Exception {
+        List<BatchItemResult> results = provision("""
+            [
+              {"username": "alice", "email": "Alice@Example.com", "password": "Password1!"},
+              {"username": "testuser", "email": "new@example.com", "password": "Password1!"},
+              {"username": "bob", "email": "alice@example.com", "password": "Password1!"},
+              {"username": "x", "email": "x@example.com", "password": "Password1!"},
+              {"username": "carol", "email": "carol@example.com", "password": "Password1!"}
+            ]
+            """);
+
+        assertThat(results).extracting(BatchItemResult::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(results).extracting(BatchItemResult::getStatus)
+            .containsExactly(Status.CREATED, Status.CONFLICT, Status.CONFLICT, Status.INVALID, Status.CREATED);
+        assertThat(results.get(1).getMessage()).isEqualTo("Username already exists");
+        assertThat(results.get(2).getMessage()).isEqualTo("Duplicate email in request");
+
+        assertThat(userRepository.findByEmail("alice@example.com")).get()
+            .satisfies(user -> assertThat(passwordEncoder.matches("Password1!", user.getPassword())).isTrue());
+        assertThat(userRepository.findByUsername("carol")).isPresent();
+    }
+
+    @Test
+    void provision_shouldKeepEarlierChunks_whenBodyIsTruncated() throws Exception {
+        List<BatchItemResult> results = provision("""
+            [
+              {"username": "dave", "email": "dave@example.com", "password": "Password1!"},
+              {"username": "erin", "email": "erin@example.com", "password": "Password1!"},
+              {"username": "frank", "email": "fr
+            """);
+
+        assertThat(results).extracting(BatchItemResult::getStatus)
+            .containsExactly(Status.CREATED, Status.CREATED, Status.FAILED);
+        assertThat(userRepository.findByUsername("erin")).isPresent();
+    }
+
+    @Test
+    void provision_shouldRetryEntriesIndividually_whenChunkHitsAConstraint() throws Exception {
+        passwordEncoder.arm("heidi");
+
+        List<BatchItemResult> results = provision("""
+            [
+              {"username": "grace", "email": "grace@example.com", "password": "Password1!"},
+              {"username": "heidi", "email": "heidi@example.com", "password": "Password1!"}
+            ]
+            """);
+
+        assertThat(results).extracting(BatchItemResult::getStatus).containsExactly(Status.CREATED, Status.CONFLICT);
+        assertThat(results.get(1).getMessage()).isEqualTo("Username or email already exists");
+        assertThat(userRepository.findByUsername("grace")).isPresent();
+        assertThat(userRepository.findByEmail("heidi@example.com")).isEmpty();
+    }
+
+    @Test
+    void provision_shouldWaitForHashingCapacity_whenLoginsFillTheExecutor() throws Exception {
+        CountDownLatch running = new CountDownLatch(HASHING_THREADS);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Boolean>> logins = new ArrayList<>();
+        for (int i = 0; i < HASHING_THREADS; i++) {
+            logins.add(hashingExecutor.submit(() -> {
+                running.countDown();
+                return await(release);
+            }));
+        }
+        // Only fill the queue once every thread is busy, so none of these is picked up early
+        assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < HASHING_QUEUE_CAPACITY; i++) {
+            logins.add(hashingExecutor.submit(() -> await(release)));
+        }
+
+        CompletableFuture<List<BatchItemResult>> results = CompletableFuture.supplyAsync(() -> provisionUnchecked("""
+            [
+              {"username": "ivan", "email": "ivan@example.com", "password": "Password1!"},
+              {"username": "judy", "email": "judy@example.com", "password": "Password1!"},
+              {"username": "mallory", "email": "mallory@example.com", "password": "Password1!"}
+            ]
+            """));
+        Thread.sleep(200);
+        assertThat(results).isNotDone();
+
+        release.countDown();
+        assertThat(results.get(10, TimeUnit.SECONDS)).extracting(BatchItemResult::getStatus).containsOnly(Status.CREATED);
+        assertThat(logins).allSatisfy(login -> assertThat(login.join()).isTrue());
+    }
+
+    @Test
+    void provision_shouldRejectBodyThatIsNotAnArray() {
+        assertThatThrownBy(() -> provision("{\"username\": \"alice\"}"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<BatchItemResult> provision(String json) throws Exception {
+        return userProvisioningService.provision(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private List<BatchItemResult> provisionUnchecked(String json) {
+        try {
+            return provision(json);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}